@@ -0,0 +1,172 @@
+package com.example.contact.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Résume un enregistrement JFR : latences des événements applicatifs
+ * (com.example.contact.*) regroupées par phase, requête ou issue, avec la part
+ * de chaque groupe dans le temps total de sa section.
+ *
+ * Arguments : fichiers .jfr, ou répertoires (tous leurs .jfr, ex. le repository
+ * d'un enregistrement continu).
+ */
+public final class RecordingAnalyzer {
+
+    private static final List<Section> SECTIONS = List.of(
+            new Section(LeadIntakeEvent.NAME, "Intake des leads, par phase",
+                    event -> event.getString("phase")),
+            new Section(JwtVerificationEvent.NAME, "Vérification JWT, par issue",
+                    event -> event.getString("outcome")),
+            new Section(UserLookupEvent.NAME, "Chargement utilisateur",
+                    event -> event.getBoolean("cached") ? "cache" : "base"),
+            new Section(RepositoryQueryEvent.NAME, "Requêtes repository",
+                    event -> event.getString("repository") + "." + event.getString("method")
+                            + (Outcomes.OK.equals(event.getString("outcome")) ? "" : " [" + event.getString("outcome") + "]")),
+            new Section(MailSendEvent.NAME, "Envois SMTP (lots), par issue",
+                    event -> event.getString("outcome")));
+
+    private RecordingAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage : RecordingAnalyzer <fichier.jfr | répertoire>...");
+            System.exit(2);
+        }
+
+        Map<String, Section> sectionsByEvent = new HashMap<>();
+        SECTIONS.forEach(section -> sectionsByEvent.put(section.eventName(), section));
+        Map<Section, Map<String, Latencies>> groups = new LinkedHashMap<>();
+        SECTIONS.forEach(section -> groups.put(section, new HashMap<>()));
+
+        Instant first = null;
+        Instant last = null;
+        for (Path file : recordings(args)) {
+            try (RecordingFile recording = new RecordingFile(file)) {
+                while (recording.hasMoreEvents()) {
+                    RecordedEvent event = recording.readEvent();
+                    Section section = sectionsByEvent.get(event.getEventType().getName());
+                    if (section == null) {
+                        continue;
+                    }
+                    groups.get(section)
+                            .computeIfAbsent(section.key().apply(event), key -> new Latencies())
+                            .add(event.getDuration().toNanos());
+                    first = first == null || event.getStartTime().isBefore(first) ? event.getStartTime() : first;
+                    last = last == null || event.getEndTime().isAfter(last) ? event.getEndTime() : last;
+                }
+            }
+        }
+
+        if (first == null) {
+            System.out.println("Aucun événement com.example.contact.* : enregistrement lancé avec src/jfr/contact-api.jfc ?");
+            return;
+        }
+        System.out.printf("Événements du %s au %s%n", first, last);
+        groups.forEach(RecordingAnalyzer::print);
+    }
+
+    private static List<Path> recordings(String[] args) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> children = Files.list(path)) {
+                    children.filter(child -> child.toString().endsWith(".jfr")).sorted().forEach(files::add);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        return files;
+    }
+
+    private static void print(Section section, Map<String, Latencies> groups) {
+        if (groups.isEmpty()) {
+            return;
+        }
+        long sectionTotal = groups.values().stream().mapToLong(Latencies::total).sum();
+        int keyWidth = Math.max(12, groups.keySet().stream().mapToInt(String::length).max().orElse(0));
+        String row = "%-" + keyWidth + "s %9s %11s %6s %9s %9s %9s %9s %9s%n";
+
+        System.out.printf("%n%s%n", section.title());
+        System.out.printf(row, "", "nombre", "total ms", "part", "moy. ms", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        groups.entrySet().stream()
+                .sorted(Map.Entry.<String, Latencies>comparingByValue(Comparator.comparingLong(Latencies::total)).reversed())
+                .forEach(entry -> {
+                    Latencies latencies = entry.getValue();
+                    latencies.sort();
+                    System.out.printf(Locale.ROOT, row,
+                            entry.getKey(),
+                            latencies.count(),
+                            millis(latencies.total()),
+                            String.format(Locale.ROOT, "%.1f%%", 100.0 * latencies.total() / Math.max(sectionTotal, 1)),
+                            millis(latencies.total() / latencies.count()),
+                            millis(latencies.percentile(0.50)),
+                            millis(latencies.percentile(0.90)),
+                            millis(latencies.percentile(0.99)),
+                            millis(latencies.percentile(1.0)));
+                });
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * @param key regroupement des événements de la section
+     */
+    private record Section(String eventName, String title, Function<RecordedEvent, String> key) {
+    }
+
+    /**
+     * Durées en nanosecondes ; triées avant le calcul des percentiles
+     */
+    private static final class Latencies {
+
+        private long[] values = new long[64];
+        private int count;
+        private long total;
+
+        void add(long nanos) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+            total += nanos;
+        }
+
+        void sort() {
+            Arrays.sort(values, 0, count);
+        }
+
+        long percentile(double quantile) {
+            int index = (int) Math.ceil(quantile * count) - 1;
+            return values[Math.max(0, Math.min(index, count - 1))];
+        }
+
+        int count() {
+            return count;
+        }
+
+        long total() {
+            return total;
+        }
+    }
+}
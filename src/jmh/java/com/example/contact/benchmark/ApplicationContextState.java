@@ -0,0 +1,46 @@
+package com.example.contact.benchmark;
+
+import com.example.contact.ContactApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Application complète (profil dev, H2 en mémoire) démarrée une fois par fork,
+ * sans serveur web : les benchmarks appellent directement les beans.
+ *
+ * Le cache des lectures admin est désactivé pour que les benchmarks de dépôt
+ * mesurent bien les requêtes.
+ */
+@State(Scope.Benchmark)
+public class ApplicationContextState {
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ContactApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                // Arguments de ligne de commande : prioritaires sur le profil dev (show-sql)
+                .run("--spring.main.banner-mode=off",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.contact.config.StatementStatisticsRecorder=WARN",
+                        "--app.cache.enabled=false");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
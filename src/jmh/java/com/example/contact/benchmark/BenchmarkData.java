@@ -0,0 +1,58 @@
+package com.example.contact.benchmark;
+
+import com.example.contact.model.Lead;
+
+import java.time.LocalDateTime;
+
+/**
+ * Leads synthétiques de taille réaliste (message de quelques centaines de caractères par défaut)
+ */
+public final class BenchmarkData {
+
+    private static final String[] COMPANIES = {"Dupont & Fils", "Boulangerie Martin", "Acme Québec", "Studio Lune"};
+    private static final String MESSAGE = "Bonjour, nous souhaitons obtenir un devis pour la migration de notre "
+            + "infrastructure vers le cloud, incluant la formation des équipes, le support pendant la transition "
+            + "et la maintenance du réseau existant. Merci de nous recontacter rapidement. ";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @param i numéro du lead (détermine l'entreprise, le type, le statut et la date)
+     */
+    public static Lead lead(int i) {
+        return lead(i, MESSAGE + MESSAGE);
+    }
+
+    /**
+     * @param i             numéro du lead
+     * @param messageLength longueur exacte du message, en caractères
+     */
+    public static Lead lead(int i, int messageLength) {
+        return lead(i, message(messageLength));
+    }
+
+    /**
+     * Message de la longueur demandée (texte répété, tronqué)
+     */
+    public static String message(int length) {
+        return MESSAGE.repeat(length / MESSAGE.length() + 1).substring(0, length);
+    }
+
+    private static Lead lead(int i, String message) {
+        Lead.RequestType[] types = Lead.RequestType.values();
+        Lead.LeadStatus[] statuses = Lead.LeadStatus.values();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 8, 0).plusMinutes(i * 7L);
+        return Lead.builder()
+                .fullName("Client " + i + " Tremblay")
+                .company(COMPANIES[i % COMPANIES.length])
+                .email("client" + i + "@example.com")
+                .phone("514-555-" + String.format("%04d", i % 10_000))
+                .requestType(types[i % types.length])
+                .status(statuses[i % statuses.length])
+                .message(message)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+}
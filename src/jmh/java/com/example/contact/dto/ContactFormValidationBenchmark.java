@@ -0,0 +1,75 @@
+package com.example.contact.dto;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.model.Lead;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation du formulaire de contact (@Valid sur POST /api/contact) :
+ * formulaire valide, et formulaire en erreur sur tous les champs (construction
+ * des violations et interpolation des messages).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactFormValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ContactFormRequest valid;
+    private ContactFormRequest invalid;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        valid = new ContactFormRequest();
+        valid.setFullName("Marie Tremblay");
+        valid.setCompany("ABC Inc.");
+        valid.setEmail("marie@example.com");
+        valid.setPhone("514-555-1234");
+        valid.setRequestType(Lead.RequestType.QUOTE);
+        valid.setMessage("Bonjour, je souhaiterais obtenir un devis pour votre service.");
+
+        invalid = new ContactFormRequest();
+        invalid.setFullName(" ");
+        invalid.setEmail("pas-un-email");
+        invalid.setMessage("court");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ContactFormRequest>> validateValid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ContactFormRequest>> validateInvalid() {
+        return validator.validate(invalid);
+    }
+}
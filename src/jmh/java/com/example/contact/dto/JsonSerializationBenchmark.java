@@ -0,0 +1,96 @@
+package com.example.contact.dto;
+
+import com.example.contact.benchmark.BenchmarkData;
+import com.example.contact.dto.response.LeadDto;
+import com.example.contact.dto.response.LeadStatsDto;
+import com.example.contact.model.Lead;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation Jackson des réponses admin : page de LeadDto et statistiques.
+ * ObjectMapper construit comme celui de Spring Boot (modules java.time, dates ISO).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<LeadDto> page;
+    private LeadStatsDto stats;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<LeadDto> leads = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Lead lead = BenchmarkData.lead(i);
+            leads.add(LeadDto.builder()
+                    .id((long) i)
+                    .fullName(lead.getFullName())
+                    .company(lead.getCompany())
+                    .email(lead.getEmail())
+                    .phone(lead.getPhone())
+                    .requestType(lead.getRequestType().name())
+                    .message(lead.getMessage())
+                    .status(lead.getStatus().name())
+                    .createdAt(lead.getCreatedAt())
+                    .updatedAt(lead.getUpdatedAt())
+                    .version(0L)
+                    .build());
+        }
+        page = new PageImpl<>(leads, PageRequest.of(0, pageSize), 20_000);
+
+        Map<String, Long> requestTypes = new LinkedHashMap<>();
+        for (Lead.RequestType type : Lead.RequestType.values()) {
+            requestTypes.put(type.name(), 4_000L);
+        }
+        stats = LeadStatsDto.builder()
+                .totalLeads(20_000)
+                .newLeads(8_000)
+                .contactedLeads(6_000)
+                .convertedLeads(4_000)
+                .lostLeads(2_000)
+                .conversionRate(20.0)
+                .requestTypes(requestTypes)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeLeadPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeStats() throws Exception {
+        return objectMapper.writeValueAsBytes(stats);
+    }
+}
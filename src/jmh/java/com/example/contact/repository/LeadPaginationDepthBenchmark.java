@@ -0,0 +1,80 @@
+package com.example.contact.repository;
+
+import com.example.contact.benchmark.ApplicationContextState;
+import com.example.contact.benchmark.BenchmarkData;
+import com.example.contact.dto.response.LeadSummaryDto;
+import com.example.contact.model.Lead;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page de 20 leads à une profondeur donnée, même tri (createdAt, id
+ * décroissants) : OFFSET (coût croissant avec la profondeur) contre curseur
+ * keyset (/api/admin/leads/cursor). Sans COUNT, pour ne comparer que l'accès.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeadPaginationDepthBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_CHUNK = 1000;
+
+    @Param({"100000"})
+    private int leads;
+
+    // Multiple de PAGE_SIZE, inférieur à leads
+    @Param({"20", "10000", "90000"})
+    private int depth;
+
+    private LeadRepository leadRepository;
+    private Pageable offsetPage;
+    private LeadSummaryDto cursor;
+    private final Pageable slice = PageRequest.of(0, PAGE_SIZE);
+
+    @Setup
+    public void setUp(ApplicationContextState application) {
+        leadRepository = application.getBean(LeadRepository.class);
+
+        // Insertion directe par le dépôt : pas d'événements ni d'emails
+        for (int from = 0; from < leads; from += SEED_CHUNK) {
+            List<Lead> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = from; i < Math.min(from + SEED_CHUNK, leads); i++) {
+                chunk.add(BenchmarkData.lead(i));
+            }
+            leadRepository.saveAll(chunk);
+        }
+
+        offsetPage = PageRequest.of(depth / PAGE_SIZE, PAGE_SIZE);
+        // Dernière ligne de la page précédente : même page par les deux accès
+        cursor = leadRepository.findFirstSlice(PageRequest.of(depth - 1, 1)).get(0);
+    }
+
+    @Benchmark
+    public List<LeadSummaryDto> offset() {
+        return leadRepository.findFirstSlice(offsetPage);
+    }
+
+    @Benchmark
+    public List<LeadSummaryDto> keyset() {
+        return leadRepository.findSliceAfter(cursor.getCreatedAt(), cursor.getId(), slice);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.contact.repository;
+
+import com.example.contact.benchmark.ApplicationContextState;
+import com.example.contact.benchmark.BenchmarkData;
+import com.example.contact.dto.response.LeadDto;
+import com.example.contact.dto.response.LeadSummaryDto;
+import com.example.contact.model.Lead;
+import com.example.contact.service.LeadService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectures admin sur H2 en mémoire (profil dev), cache des lectures désactivé :
+ * détail d'un lead (dépôt seul et LeadService complet), page OFFSET + COUNT,
+ * tranche par curseur au milieu de la table.
+ * <p>
+ * {@code findEntitiesFirstPage} est l'ancien chemin de la liste admin (entités complètes,
+ * message compris), à comparer à {@code findSummariesFirstPage} selon la taille du message.
+ * L'allocation par page se lit dans {@code gc.alloc.rate.norm} avec le profileur GC :
+ * {@code -Djmh.args="LeadRepositoryBenchmark.find.*FirstPage -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LeadRepositoryBenchmark {
+
+    private static final int SEED_CHUNK = 1000;
+
+    @Param({"10000"})
+    private int leads;
+
+    // Caractères par message : taille courante, puis messages longs (32 Ko)
+    @Param({"512", "32768"})
+    private int messageLength;
+
+    private LeadRepository leadRepository;
+    private LeadService leadService;
+    private long minId;
+    private long maxId;
+    private LeadSummaryDto middle;
+    private final Pageable firstPage = PageRequest.of(0, 20);
+    // Même ordre et même COUNT que l'ancien findAllByOrderByCreatedAtDesc
+    private final Pageable firstEntityPage = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Setup
+    public void setUp(ApplicationContextState application) {
+        leadRepository = application.getBean(LeadRepository.class);
+        leadService = application.getBean(LeadService.class);
+
+        // Insertion directe par le dépôt : pas d'événements ni d'emails
+        for (int from = 0; from < leads; from += SEED_CHUNK) {
+            List<Lead> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = from; i < Math.min(from + SEED_CHUNK, leads); i++) {
+                chunk.add(BenchmarkData.lead(i, messageLength));
+            }
+            leadRepository.saveAll(chunk);
+        }
+
+        List<LeadSummaryDto> all = leadRepository.findFirstSlice(PageRequest.of(0, leads));
+        maxId = all.stream().mapToLong(LeadSummaryDto::getId).max().orElseThrow();
+        minId = all.stream().mapToLong(LeadSummaryDto::getId).min().orElseThrow();
+        middle = all.get(all.size() / 2);
+    }
+
+    @Benchmark
+    public Lead findById() {
+        return leadRepository.findById(randomId()).orElseThrow();
+    }
+
+    @Benchmark
+    public LeadDto getLeadById() {
+        return leadService.getLeadById(randomId());
+    }
+
+    @Benchmark
+    public Page<LeadSummaryDto> findSummariesFirstPage() {
+        return leadRepository.findSummaries(firstPage);
+    }
+
+    // Copie en LeadDto (références seulement) mesurée à part par LeadMappingBenchmark
+    @Benchmark
+    public Page<Lead> findEntitiesFirstPage() {
+        return leadRepository.findAll(firstEntityPage);
+    }
+
+    @Benchmark
+    public Page<LeadSummaryDto> findSummariesByStatusFirstPage() {
+        return leadRepository.findSummariesByStatus(Lead.LeadStatus.CONTACTED, firstPage);
+    }
+
+    @Benchmark
+    public List<LeadSummaryDto> findSliceAfterMiddle() {
+        return leadRepository.findSliceAfter(middle.getCreatedAt(), middle.getId(), firstPage);
+    }
+
+    // Ids consécutifs (séquence) : tous présents entre minId et maxId
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+    }
+}
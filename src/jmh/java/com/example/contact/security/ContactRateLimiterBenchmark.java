@@ -0,0 +1,69 @@
+package com.example.contact.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de TokenBucketTable et de ContactRateLimiter sous contention (4 threads
+ * par défaut, -t pour varier) :
+ * - hot : toutes les requêtes sur une seule adresse, donc une seule case mise à
+ *   jour par CAS (attaque depuis une IP, bucket vide : chemin de rejet) ;
+ * - spread : 4096 adresses réparties sur la table (trafic normal, jetons accordés).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ContactRateLimiterBenchmark {
+
+    private static final int ADDRESSES = 4096;
+
+    @Param({"hot", "spread"})
+    private String keys;
+
+    private TokenBucketTable table;
+    private ContactRateLimiter limiter;
+    private String[] addresses;
+
+    @Setup
+    public void setUp() {
+        // Valeurs par défaut de app.rate-limit
+        table = new TokenBucketTable(65_536, 20, Duration.ofSeconds(3));
+        limiter = new ContactRateLimiter(true, 65_536, 20, Duration.ofSeconds(3), 5, Duration.ofMinutes(1));
+        addresses = new String[ADDRESSES];
+        for (int i = 0; i < ADDRESSES; i++) {
+            addresses[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public long tableTryAcquire() {
+        return table.tryAcquire(address());
+    }
+
+    @Benchmark
+    public long limiterAcquireForAddress() {
+        return limiter.acquireForAddress(address());
+    }
+
+    private String address() {
+        return "hot".equals(keys) ? addresses[0] : addresses[ThreadLocalRandom.current().nextInt(ADDRESSES)];
+    }
+}
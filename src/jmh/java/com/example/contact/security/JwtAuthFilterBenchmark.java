@@ -0,0 +1,75 @@
+package com.example.contact.security;
+
+import com.example.contact.benchmark.ApplicationContextState;
+import com.example.contact.model.User;
+import com.example.contact.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthFilter de bout en bout sur les beans de l'application : lecture de
+ * l'en-tête, vérification du token, contrôle du statut du compte et
+ * construction de l'authentification.
+ *
+ * claims : token courant (rôles dans les claims, aucune requête) ;
+ * legacy : token sans rôles, utilisateur résolu par UserLookupCache ;
+ * anonymous : pas d'en-tête Authorization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    @Param({"claims", "legacy", "anonymous"})
+    private String token;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp(ApplicationContextState application) {
+        filter = application.getBean(JwtAuthFilter.class);
+        JwtService jwtService = application.getBean(JwtService.class);
+        User admin = application.getBean(UserRepository.class).findByEmail("admin@example.com").orElseThrow();
+
+        request = new MockHttpServletRequest("GET", "/api/admin/leads");
+        switch (token) {
+            case "claims" -> request.addHeader("Authorization", "Bearer " + jwtService.generateToken(admin));
+            case "legacy" -> request.addHeader("Authorization", "Bearer " + jwtService.generateToken(Map.of(), admin));
+            default -> {
+            }
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws Exception {
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
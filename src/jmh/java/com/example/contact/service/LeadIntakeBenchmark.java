@@ -0,0 +1,74 @@
+package com.example.contact.service;
+
+import com.example.contact.benchmark.ApplicationContextState;
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.model.Lead;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Soumissions concurrentes du formulaire (16 threads par défaut, -t pour varier)
+ * jusqu'à l'acquittement, en mode direct (une transaction par lead) et batch
+ * (file bornée, un INSERT groupé par lot), sur H2 en mémoire. Réglages de
+ * app.intake par défaut ; batchSize et maxWait ajustables par -p.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(16)
+public class LeadIntakeBenchmark {
+
+    @Param({"direct", "batch"})
+    private String mode;
+
+    @Param({"100"})
+    private int batchSize;
+
+    @Param({"20"})
+    private long maxWaitMillis;
+
+    private LeadIntakeService intake;
+    private ContactFormRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationContextState application) {
+        intake = new LeadIntakeService(application.getBean(LeadService.class), mode, batchSize,
+                Duration.ofMillis(maxWaitMillis), 10_000, Duration.ofSeconds(5));
+        intake.start();
+
+        request = new ContactFormRequest();
+        request.setFullName("Client Tremblay");
+        request.setCompany("Studio Lune");
+        request.setEmail("client@example.com");
+        request.setRequestType(Lead.RequestType.QUOTE);
+        request.setMessage("Bonjour, nous souhaitons obtenir un devis pour la refonte de notre site.");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        intake.stop();
+    }
+
+    @Benchmark
+    public LeadIntakeService.Receipt submit() {
+        return intake.submit(request);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.contact.service;
+
+import com.example.contact.benchmark.BenchmarkData;
+import com.example.contact.dto.response.LeadDto;
+import com.example.contact.model.Lead;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion entité -> LeadDto (LeadService.mapToDto)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeadMappingBenchmark {
+
+    private Lead lead;
+
+    @Setup
+    public void setUp() {
+        lead = BenchmarkData.lead(42);
+        lead.setId(42L);
+    }
+
+    @Benchmark
+    public LeadDto mapToDto() {
+        return LeadService.mapToDto(lead);
+    }
+}
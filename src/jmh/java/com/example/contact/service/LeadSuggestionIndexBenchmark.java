@@ -0,0 +1,72 @@
+package com.example.contact.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latence de LeadSuggestionIndex.suggest (top 10, préfixes de 1 à 4 caractères tirés
+ * des valeurs indexées) sur un index de leads leads, avec ou sans delta en attente de
+ * compaction (pendingDelta ajouts). Percentiles : -bm sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LeadSuggestionIndexBenchmark {
+
+    private static final int PREFIXES = 4096;
+
+    @Param({"1000000"})
+    private int leads;
+
+    @Param({"COMPANY", "EMAIL"})
+    private LeadSuggestionService.Field field;
+
+    @Param({"0", "5000"})
+    private int pendingDelta;
+
+    private LeadSuggestionIndex index;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SuggestionData data = SuggestionData.generate(leads);
+        // Seuil jamais atteint : le delta reste en attente pendant la mesure
+        index = data.build(Integer.MAX_VALUE)[field.ordinal()];
+        String[] values = data.values(field);
+        SplittableRandom random = new SplittableRandom(7);
+        long latest = data.createdAt[leads - 1];
+        for (int i = 0; i < pendingDelta; i++) {
+            index.add(values[random.nextInt(leads)] + " " + i, latest + i);
+        }
+
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            String value = values[random.nextInt(leads)];
+            prefixes[i] = value.substring(0, Math.min(value.length(), 1 + random.nextInt(4)));
+        }
+    }
+
+    @Benchmark
+    public List<LeadSuggestionIndex.Suggestion> suggest() {
+        next = (next + 1) & (PREFIXES - 1);
+        return index.suggest(prefixes[next], 10);
+    }
+}
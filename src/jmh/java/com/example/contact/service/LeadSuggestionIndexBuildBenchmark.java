@@ -0,0 +1,89 @@
+package com.example.contact.service;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction des trois index de suggestions (tri et arbres de segments, comme au
+ * démarrage) pour leads leads, et mémoire retenue par ces index rapportée à un
+ * million de leads (compteur retainedBytesPerMillionLeads, mesuré après GC une fois
+ * l'itération terminée).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LeadSuggestionIndexBuildBenchmark {
+
+    @Param({"1000000"})
+    private int leads;
+
+    private SuggestionData data;
+    private LeadSuggestionIndex[] indexes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = SuggestionData.generate(leads);
+    }
+
+    @Setup(Level.Iteration)
+    public void release() {
+        indexes = null;
+    }
+
+    @Benchmark
+    public LeadSuggestionIndex[] build(Footprint footprint) {
+        indexes = data.build(10_000);
+        return indexes;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+
+        public long retainedBytesPerMillionLeads;
+
+        private long baseline;
+
+        // Après la génération des données (état dont dépend cette méthode), avant tout index
+        @Setup(Level.Trial)
+        public void baseline(LeadSuggestionIndexBuildBenchmark benchmark) {
+            baseline = usedAfterGc();
+        }
+
+        // JMH somme les compteurs EVENTS des itérations de mesure : chacune en apporte
+        // sa part, le résultat affiché est la moyenne
+        @TearDown(Level.Iteration)
+        public void measure(LeadSuggestionIndexBuildBenchmark benchmark, BenchmarkParams params) {
+            long retained = (usedAfterGc() - baseline) * 1_000_000L / benchmark.leads;
+            retainedBytesPerMillionLeads = retained / params.getMeasurement().getCount();
+        }
+
+        private static long usedAfterGc() {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.contact.service;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Valeurs synthétiques des trois champs indexés (entreprise, nom, email), à
+ * distribution réaliste : entreprises et noms partiellement répétés, emails tous
+ * distincts. Déterministe (graine fixe).
+ */
+final class SuggestionData {
+
+    private static final String[] SYLLABLES = {"ber", "tra", "mon", "lu", "ca", "dre", "vil", "ro", "sa", "pel",
+            "gui", "nor", "ta", "leu", "fa", "ri", "ma", "cou", "del", "bo"};
+    private static final String[] SUFFIXES = {"", " SARL", " SAS", " Inc.", " & Fils", " Conseil", " Studio"};
+    private static final String[] DOMAINS = {"example.com", "exemple.fr", "mail.test", "societe.example"};
+
+    final String[] companies;
+    final String[] fullNames;
+    final String[] emails;
+    final long[] createdAt;
+
+    private SuggestionData(int leads) {
+        companies = new String[leads];
+        fullNames = new String[leads];
+        emails = new String[leads];
+        createdAt = new long[leads];
+        SplittableRandom random = new SplittableRandom(42);
+        long start = 1_704_096_000_000L;
+        for (int i = 0; i < leads; i++) {
+            String first = word(random, 2);
+            String last = word(random, 3);
+            companies[i] = word(random, 2 + random.nextInt(2)) + " " + word(random, 2)
+                    + SUFFIXES[random.nextInt(SUFFIXES.length)];
+            fullNames[i] = first + " " + last;
+            emails[i] = (first + "." + last).toLowerCase(Locale.ROOT) + i + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+            createdAt[i] = start + i * 60_000L;
+        }
+    }
+
+    static SuggestionData generate(int leads) {
+        return new SuggestionData(leads);
+    }
+
+    /**
+     * Index COMPANY, FULL_NAME, EMAIL construits comme au démarrage de LeadSuggestionService
+     */
+    LeadSuggestionIndex[] build(int compactionThreshold) {
+        LeadSuggestionIndex.Builder[] builders = {
+                new LeadSuggestionIndex.Builder(), new LeadSuggestionIndex.Builder(), new LeadSuggestionIndex.Builder()};
+        for (int i = 0; i < emails.length; i++) {
+            builders[0].add(companies[i], createdAt[i]);
+            builders[1].add(fullNames[i], createdAt[i]);
+            builders[2].add(emails[i], createdAt[i]);
+        }
+        LeadSuggestionIndex[] indexes = new LeadSuggestionIndex[builders.length];
+        for (int i = 0; i < builders.length; i++) {
+            indexes[i] = new LeadSuggestionIndex(compactionThreshold);
+            indexes[i].load(builders[i]);
+        }
+        return indexes;
+    }
+
+    String[] values(LeadSuggestionService.Field field) {
+        return switch (field) {
+            case COMPANY -> companies;
+            case FULL_NAME -> fullNames;
+            case EMAIL -> emails;
+        };
+    }
+
+    private static String word(SplittableRandom random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
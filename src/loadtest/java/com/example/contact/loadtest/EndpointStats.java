@@ -0,0 +1,83 @@
+package com.example.contact.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Résultats d'un endpoint pendant la fenêtre de mesure.
+ *
+ * La latence va de l'instant d'envoi prévu par le planning (et non de l'envoi
+ * effectif) à la fin de la réponse : un retard du générateur ou une file côté
+ * serveur se retrouve dans les percentiles au lieu d'être masqué (pas d'omission
+ * coordonnée). Les requêtes prévues pendant l'échauffement ne sont pas comptées.
+ */
+final class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final String name;
+    private final double targetRate;
+    private final long measureStartNanos;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    // Code HTTP ou nom de l'exception -> nombre
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder inFlight = new LongAdder();
+
+    EndpointStats(String name, double targetRate, long measureStartNanos) {
+        this.name = name;
+        this.targetRate = targetRate;
+        this.measureStartNanos = measureStartNanos;
+    }
+
+    void sent() {
+        inFlight.increment();
+    }
+
+    void completed(long intendedNanos, long completedNanos, String outcome) {
+        inFlight.decrement();
+        if (intendedNanos < measureStartNanos) {
+            return;
+        }
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedNanos), MAX_LATENCY_MICROS);
+        latencies.recordValue(Math.max(micros, 0));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    long getInFlight() {
+        return inFlight.sum();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    double getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * Latences en microsecondes
+     */
+    Histogram getLatencies() {
+        return latencies;
+    }
+
+    Map<String, Long> getOutcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    long getErrors() {
+        return getOutcomes().entrySet().stream()
+                .filter(entry -> !entry.getKey().startsWith("2"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.contact.loadtest;
+
+import com.example.contact.ContactApplication;
+import com.example.contact.loadtest.LoadTestSettings.Endpoint;
+import com.example.contact.model.Lead;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Test de charge de bout en bout de l'API : formulaire de contact, login admin,
+ * liste et détail des leads, chacun à un débit d'arrivée fixe (modèle ouvert).
+ *
+ * Sans base-url, démarre l'application dans ce processus (profil dev, H2 en
+ * mémoire, SMTP local SmtpStub) : aucun accès réseau. Crée seed-leads leads pour
+ * les lectures admin, échauffe pendant warmup puis mesure pendant duration.
+ * Résultats : tableau par endpoint sur la sortie standard, et histogramme HDR
+ * complet par endpoint dans report-dir (fichiers .hgrm, en millisecondes).
+ *
+ * Le mode de threads de l'application embarquée se choisit par virtual-threads=true|false :
+ * deux exécutions, une par mode, comparent débit et p99 de /api/contact et /api/admin/leads.
+ *
+ * Exécution : mvn -Ploadtest test-compile exec:exec -Dloadtest.args="duration=2m rate.contact=100"
+ */
+public final class LoadTest {
+
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final String ADMIN_PASSWORD = "admin123";
+    private static final Duration DRAIN_MARGIN = Duration.ofSeconds(5);
+
+    private final LoadTestSettings settings;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Emails uniques d'une exécution à l'autre (déduplication des soumissions)
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private String token;
+    private long[] leadIds;
+
+    private LoadTest(LoadTestSettings settings, HttpClient client, String baseUrl) {
+        this.settings = settings;
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        SmtpStub smtp = null;
+        ConfigurableApplicationContext context = null;
+        try {
+            String baseUrl = settings.baseUrl();
+            if (settings.embedded()) {
+                smtp = SmtpStub.start();
+                context = startApplication(smtp.getPort(), settings.virtualThreads());
+                baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            }
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            LoadTest test = new LoadTest(settings, client, baseUrl);
+            test.prepare();
+            List<EndpointStats> results = test.run();
+            test.report(results, smtp);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (smtp != null) {
+                smtp.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(int smtpPort, Boolean virtualThreads) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                "--management.server.port=0",
+                "--spring.mail.host=localhost",
+                "--spring.mail.port=" + smtpPort,
+                "--spring.main.banner-mode=off",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.contact.config.StatementStatisticsRecorder=WARN",
+                // Tout le trafic vient de la même adresse : la limite par IP fausserait le test
+                "--app.rate-limit.enabled=false"));
+        if (virtualThreads != null) {
+            args.add("--spring.threads.virtual.enabled=" + virtualThreads);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ContactApplication.class)
+                .profiles("dev")
+                .run(args.toArray(String[]::new));
+        System.out.println("Application démarrée (H2 en mémoire, SMTP local sur le port " + smtpPort
+                + ", threads virtuels : " + context.getEnvironment().getProperty("spring.threads.virtual.enabled") + ")");
+        return context;
+    }
+
+    /**
+     * Token admin, puis leads de départ créés en une soumission groupée
+     */
+    private void prepare() throws IOException, InterruptedException {
+        HttpResponse<String> login = client.send(loginRequest(), HttpResponse.BodyHandlers.ofString());
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Login admin impossible (" + login.statusCode() + "): " + login.body());
+        }
+        token = objectMapper.readTree(login.body()).get("token").asText();
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < settings.seedLeads(); i++) {
+            ndjson.append(objectMapper.writeValueAsString(contactForm("seed-" + i))).append('\n');
+        }
+        HttpResponse<Stream<String>> seeded = client.send(HttpRequest.newBuilder(uri("/api/contact/bulk"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofLines());
+        List<Long> ids = new ArrayList<>(settings.seedLeads());
+        seeded.body().forEach(line -> {
+            try {
+                JsonNode result = objectMapper.readTree(line);
+                if (result.hasNonNull("id")) {
+                    ids.add(result.get("id").asLong());
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Réponse NDJSON illisible: " + line, e);
+            }
+        });
+        leadIds = ids.stream().mapToLong(Long::longValue).toArray();
+        System.out.println(leadIds.length + " leads de départ créés sur " + baseUrl);
+    }
+
+    private List<EndpointStats> run() throws InterruptedException {
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureStart = start + settings.warmup().toNanos();
+        long end = measureStart + settings.duration().toNanos();
+
+        List<EndpointStats> results = new ArrayList<>();
+        List<Thread> drivers = new ArrayList<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            double rate = settings.rates().get(endpoint);
+            if (rate <= 0 || (endpoint == Endpoint.LEAD && leadIds.length == 0)) {
+                continue;
+            }
+            EndpointStats stats = new EndpointStats(endpoint.key, rate, measureStart);
+            results.add(stats);
+            LongFunction<HttpRequest> requests = requests(endpoint);
+            drivers.add(Thread.ofPlatform().name("load-" + endpoint.key)
+                    .start(() -> drive(requests, rate, start, end, stats)));
+        }
+        System.out.printf("Échauffement %ds puis mesure %ds%n",
+                settings.warmup().toSeconds(), settings.duration().toSeconds());
+        for (Thread driver : drivers) {
+            driver.join();
+        }
+
+        // Réponses encore attendues : bornées par le timeout des requêtes
+        long drainDeadline = System.nanoTime() + settings.requestTimeout().plus(DRAIN_MARGIN).toNanos();
+        while (results.stream().anyMatch(stats -> stats.getInFlight() > 0) && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        return results;
+    }
+
+    /**
+     * Envoi au rythme du planning, sans attendre les réponses : un serveur lent ne
+     * ralentit pas l'arrivée des requêtes
+     */
+    private void drive(LongFunction<HttpRequest> requests, double rate, long start, long end, EndpointStats stats) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        for (long n = 0; ; n++) {
+            long intended = start + n * interval;
+            if (intended >= end) {
+                return;
+            }
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            stats.sent();
+            client.sendAsync(requests.apply(n), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> stats.completed(intended, System.nanoTime(),
+                            response != null ? Integer.toString(response.statusCode()) : outcome(error)));
+        }
+    }
+
+    private LongFunction<HttpRequest> requests(Endpoint endpoint) {
+        return switch (endpoint) {
+            case CONTACT -> n -> json(HttpRequest.newBuilder(uri("/api/contact")), contactForm("run-" + n)).build();
+            case LOGIN -> n -> loginRequest();
+            // Premières pages, sans filtre ou filtrées par statut (écran d'administration)
+            case LEADS -> n -> admin("/api/admin/leads?size=20&page=" + (n % 5)
+                    + (n % 3 == 0 ? "&status=" + Lead.LeadStatus.NEW.name() : ""));
+            case LEAD -> n -> admin("/api/admin/leads/" + leadIds[ThreadLocalRandom.current().nextInt(leadIds.length)]);
+        };
+    }
+
+    private void report(List<EndpointStats> results, SmtpStub smtp) throws IOException {
+        Files.createDirectories(settings.reportDirectory());
+        double seconds = settings.duration().toMillis() / 1000.0;
+        StringBuilder table = new StringBuilder(String.format("%n%-8s %9s %9s %9s %8s %9s %9s %9s %9s %9s  %s%n",
+                "Endpoint", "Visé/s", "Obtenu/s", "Requêtes", "Erreurs", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "max ms", "Réponses"));
+        for (EndpointStats stats : results) {
+            Histogram latencies = stats.getLatencies();
+            table.append(String.format("%-8s %9.1f %9.1f %9d %8d %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    stats.getName(), stats.getTargetRate(), latencies.getTotalCount() / seconds,
+                    latencies.getTotalCount(), stats.getErrors(),
+                    millis(latencies, 50), millis(latencies, 90), millis(latencies, 99), millis(latencies, 99.9),
+                    latencies.getMaxValue() / 1000.0, stats.getOutcomes()));
+            if (stats.getInFlight() > 0) {
+                table.append(String.format("%-8s %d requêtes sans réponse à la fin du test%n",
+                        "", stats.getInFlight()));
+            }
+
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(settings.reportDirectory().resolve(stats.getName() + ".hgrm")))) {
+                latencies.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        if (smtp != null) {
+            table.append(String.format("Emails reçus par le SMTP local : %d%n", smtp.getMessages()));
+        }
+        table.append(String.format("Histogrammes HDR (ms) : %s%n", settings.reportDirectory().toAbsolutePath()));
+
+        System.out.print(table);
+        Files.writeString(settings.reportDirectory().resolve("summary.txt"), table);
+    }
+
+    private Map<String, Object> contactForm(String key) {
+        Lead.RequestType[] types = Lead.RequestType.values();
+        int i = Math.abs(key.hashCode());
+        return Map.of(
+                "fullName", "Client " + key,
+                "company", "Entreprise " + (i % 500),
+                "email", "loadtest-" + runId + "-" + key + "@example.com",
+                "phone", "514-555-" + String.format("%04d", i % 10_000),
+                "requestType", types[i % types.length].name(),
+                "message", "Bonjour, je souhaite obtenir plus d'informations sur vos services (demande " + key + ").");
+    }
+
+    private HttpRequest loginRequest() {
+        return json(HttpRequest.newBuilder(uri("/api/auth/login")),
+                Map.of("email", ADMIN_EMAIL, "password", ADMIN_PASSWORD)).build();
+    }
+
+    private HttpRequest.Builder json(HttpRequest.Builder builder, Object body) {
+        try {
+            return builder
+                    .timeout(settings.requestTimeout())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest admin(String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(settings.requestTimeout())
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String outcome(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getClass().getSimpleName();
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.contact.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Paramètres du test, passés en arguments cle=valeur
+ * (ex. duration=2m rate.contact=100 rate.leads=0).
+ *
+ * @param baseUrl   API déjà démarrée à viser ; vide : application embarquée (H2 + SMTP local)
+ * @param rates     requêtes par seconde visées par endpoint (0 : désactivé)
+ * @param seedLeads leads créés avant le test pour les lectures admin
+ * @param virtualThreads spring.threads.virtual.enabled de l'application embarquée ;
+ *                  null : valeur de application.yml
+ */
+record LoadTestSettings(
+        String baseUrl,
+        Duration warmup,
+        Duration duration,
+        Map<Endpoint, Double> rates,
+        int seedLeads,
+        Duration requestTimeout,
+        Path reportDirectory,
+        Boolean virtualThreads) {
+
+    enum Endpoint {
+        CONTACT("contact", 50),
+        LOGIN("login", 2),
+        LEADS("leads", 20),
+        LEAD("lead", 30);
+
+        final String key;
+        final double defaultRate;
+
+        Endpoint(String key, double defaultRate) {
+            this.key = key;
+            this.defaultRate = defaultRate;
+        }
+    }
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Argument attendu sous la forme cle=valeur: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        Map<Endpoint, Double> rates = new HashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            String rate = values.remove("rate." + endpoint.key);
+            rates.put(endpoint, rate != null ? Double.parseDouble(rate) : endpoint.defaultRate);
+        }
+        LoadTestSettings settings = new LoadTestSettings(
+                take(values, "base-url", ""),
+                DurationStyle.detectAndParse(take(values, "warmup", "15s")),
+                DurationStyle.detectAndParse(take(values, "duration", "60s")),
+                Map.copyOf(rates),
+                Integer.parseInt(take(values, "seed-leads", "2000")),
+                DurationStyle.detectAndParse(take(values, "request-timeout", "30s")),
+                Path.of(take(values, "report-dir", "target/loadtest")),
+                parseBoolean(values.remove("virtual-threads")));
+        if (settings.virtualThreads() != null && !settings.embedded()) {
+            throw new IllegalArgumentException("virtual-threads ne s'applique qu'à l'application embarquée (sans base-url)");
+        }
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Paramètres inconnus: " + values.keySet());
+        }
+        return settings;
+    }
+
+    boolean embedded() {
+        return baseUrl.isBlank();
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (!value.equals("true") && !value.equals("false")) {
+            throw new IllegalArgumentException("virtual-threads attend true ou false: " + value);
+        }
+        return Boolean.valueOf(value);
+    }
+
+    private static String take(Map<String, String> values, String key, String defaultValue) {
+        String value = values.remove(key);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.contact.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serveur SMTP minimal sur la boucle locale : accepte et jette tous les messages.
+ * Remplace MailHog pendant le test de charge (EmailOutboxDispatcher envoie sans
+ * échec ni réessai, sans réseau).
+ */
+final class SmtpStub implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final AtomicLong messages = new AtomicLong();
+
+    private SmtpStub(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    static SmtpStub start() throws IOException {
+        SmtpStub stub = new SmtpStub(new ServerSocket(0, 50, InetAddress.getLoopbackAddress()));
+        Thread.ofVirtual().name("smtp-stub").start(stub::accept);
+        return stub;
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    long getMessages() {
+        return messages.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().start(() -> converse(socket));
+            } catch (IOException e) {
+                // Socket fermé : fin du test
+            }
+        }
+    }
+
+    private void converse(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost SMTP stub");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line;
+                switch (command) {
+                    case "DATA" -> {
+                        reply(out, "354 Fin du message par <CRLF>.<CRLF>");
+                        String data;
+                        while ((data = in.readLine()) != null && !data.equals(".")) {
+                            // Contenu ignoré
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            // Connexion interrompue par le client
+        }
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.contact.config;
+
+import com.example.contact.jfr.ContactFormValidationRecorder;
+import com.example.contact.jfr.RepositoryQueryRecorder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Événements JDK Flight Recorder (paquetage jfr) : branche ceux qui ne sont pas
+ * émis directement par les services, à savoir la validation des formulaires et
+ * les appels de repository. Sans enregistrement JFR actif, ils ne sont pas écrits.
+ */
+@Configuration
+public class FlightRecorderConfig implements WebMvcConfigurer {
+
+    private final jakarta.validation.Validator validator;
+
+    public FlightRecorderConfig(jakarta.validation.Validator validator) {
+        this.validator = validator;
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new ContactFormValidationRecorder(validator);
+    }
+
+    /**
+     * Ajoute le RepositoryQueryRecorder au proxy de chaque repository Spring Data
+     */
+    @Bean
+    public static BeanPostProcessor repositoryQueryRecorderPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositoryQueryRecorder(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
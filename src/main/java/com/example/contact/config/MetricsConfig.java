@@ -0,0 +1,99 @@
+package com.example.contact.config;
+
+import com.example.contact.security.ContactRateLimiter;
+import com.example.contact.service.IntakeLoadShedder;
+import com.example.contact.service.LeadFeedBroadcaster;
+import com.example.contact.service.LeadIntakeService;
+import com.example.contact.service.LeadReadCache;
+import com.example.contact.service.LeadRollupService;
+import com.example.contact.service.LeadStatsEngine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Expose en métriques les compteurs déjà tenus par les composants (caches,
+ * limites de débit, files d'intake, délestage). Les métriques standard (requêtes
+ * HTTP, JVM, pool Hikari, exécuteurs @Async et @Scheduled) sont fournies par
+ * Spring Boot Actuator.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder leadMetrics(LeadReadCache readCache,
+                                   LeadIntakeService intakeService,
+                                   IntakeLoadShedder loadShedder,
+                                   LeadStatsEngine statsEngine,
+                                   LeadRollupService rollupService,
+                                   LeadFeedBroadcaster feedBroadcaster) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", readCache, LeadReadCache::getHits)
+                    .tags("cache", "leads", "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", readCache, LeadReadCache::getMisses)
+                    .tags("cache", "leads", "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", readCache, LeadReadCache::getEvictions)
+                    .tag("cache", "leads")
+                    .register(registry);
+            Gauge.builder("cache.size", readCache, LeadReadCache::getLeadEntries)
+                    .tags("cache", "leads", "entries", "detail")
+                    .register(registry);
+            Gauge.builder("cache.size", readCache, LeadReadCache::getPageEntries)
+                    .tags("cache", "leads", "entries", "page")
+                    .register(registry);
+
+            // Mode batch : file des soumissions en attente d'écriture
+            Gauge.builder("leads.intake.queue", intakeService, LeadIntakeService::getQueueSize)
+                    .register(registry);
+            Gauge.builder("leads.intake.in.flight", loadShedder, IntakeLoadShedder::getInFlight)
+                    .register(registry);
+            FunctionCounter.builder("leads.intake.shed", loadShedder, IntakeLoadShedder::getShedCount)
+                    .register(registry);
+
+            FunctionCounter.builder("leads.stats.drift.corrections", statsEngine, LeadStatsEngine::getDriftCorrections)
+                    .register(registry);
+            FunctionCounter.builder("leads.rollups.drift.corrections", rollupService, LeadRollupService::getDriftCorrections)
+                    .register(registry);
+            Gauge.builder("leads.feed.subscribers", feedBroadcaster, LeadFeedBroadcaster::getSubscriberCount)
+                    .register(registry);
+            FunctionCounter.builder("leads.feed.stalled", feedBroadcaster, LeadFeedBroadcaster::getStalledEvictions)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(ContactRateLimiter rateLimiter) {
+        return registry -> {
+            FunctionCounter.builder("contact.rate.limit.rejected", rateLimiter, ContactRateLimiter::getRejectedByAddress)
+                    .tag("scope", "address")
+                    .register(registry);
+            FunctionCounter.builder("contact.rate.limit.rejected", rateLimiter, ContactRateLimiter::getRejectedByEmail)
+                    .tag("scope", "email")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Sémaphore devant Hikari (threads virtuels) : les requêtes en attente y
+     * restent invisibles des métriques hikaricp.connections.pending
+     */
+    @Bean
+    public MeterBinder dataSourceLimiterMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .filter(ConcurrencyLimitingDataSource.class::isInstance)
+                .map(ConcurrencyLimitingDataSource.class::cast)
+                .forEach(limiter -> {
+                    Gauge.builder("jdbc.limiter.available", limiter, ConcurrencyLimitingDataSource::getAvailablePermits)
+                            .register(registry);
+                    Gauge.builder("jdbc.limiter.waiting", limiter, ConcurrencyLimitingDataSource::getQueueLength)
+                            .register(registry);
+                });
+    }
+}
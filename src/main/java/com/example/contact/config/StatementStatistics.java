@@ -0,0 +1,117 @@
+package com.example.contact.config;
+
+import net.ttddyy.dsproxy.QueryType;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Requêtes SQL exécutées par une unité de travail (requête HTTP, transaction),
+ * sur le thread qui l'a ouverte. Les unités s'imbriquent : une requête compte
+ * dans l'unité courante et dans toutes ses parentes.
+ *
+ * Une requête est un aller-retour JDBC ; un lot (batch JDBC) compte pour une
+ * requête et pour autant d'ordres que de jeux de paramètres.
+ */
+final class StatementStatistics {
+
+    private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+    private static final QueryType[] TYPES = QueryType.values();
+
+    private final String name;
+    private final Object owner;
+    private final StatementStatistics parent;
+
+    private int queries;
+    private int statements;
+    private int batches;
+    private int maxBatchSize;
+    private long elapsedMillis;
+    private final int[] statementsByType = new int[TYPES.length];
+
+    private StatementStatistics(String name, Object owner, StatementStatistics parent) {
+        this.name = name;
+        this.owner = owner;
+        this.parent = parent;
+    }
+
+    /**
+     * @param owner objet qui fermera l'unité (requête HTTP, transaction)
+     */
+    static StatementStatistics open(String name, Object owner) {
+        StatementStatistics statistics = new StatementStatistics(name, owner, CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static StatementStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void record(QueryType type, int statements, boolean batch, long elapsedMillis) {
+        for (StatementStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+            statistics.add(type, statements, batch, elapsedMillis);
+        }
+    }
+
+    void close() {
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    private void add(QueryType type, int count, boolean batch, long elapsed) {
+        queries++;
+        statements += count;
+        statementsByType[type.ordinal()] += count;
+        if (batch) {
+            batches++;
+            maxBatchSize = Math.max(maxBatchSize, count);
+        }
+        elapsedMillis += elapsed;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Object getOwner() {
+        return owner;
+    }
+
+    int getQueries() {
+        return queries;
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Ex. « 3 requêtes, 22 ordres (2 select, 20 insert), 1 lot (max 20), 4 ms »
+     */
+    String summary() {
+        StringJoiner types = new StringJoiner(", ", " (", ")");
+        for (QueryType type : TYPES) {
+            if (statementsByType[type.ordinal()] > 0) {
+                types.add(statementsByType[type.ordinal()] + " " + type.name().toLowerCase(Locale.ROOT));
+            }
+        }
+        StringBuilder summary = new StringBuilder()
+                .append(queries).append(" requêtes, ")
+                .append(statements).append(" ordres");
+        if (statements > 0) {
+            summary.append(types);
+        }
+        if (batches > 0) {
+            summary.append(", ").append(batches).append(" lots (max ").append(maxBatchSize).append(')');
+        }
+        return summary.append(", ").append(elapsedMillis).append(" ms").toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.contact.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Comptage des requêtes SQL (datasource-proxy) par requête HTTP et par
+ * transaction : métriques db.queries, db.statements et db.queries.time, journal
+ * des requêtes lentes, budgets par endpoint ou transaction.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.statistics.enabled", havingValue = "true")
+public class StatementStatisticsConfig {
+
+    /**
+     * Proxy placé derrière le limiteur de concurrence (ThreadingConfig) s'il est
+     * présent, quel que soit l'ordre des post-processeurs : le limiteur reste la
+     * DataSource exposée
+     */
+    @Bean
+    public static BeanPostProcessor statementStatisticsDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConcurrencyLimitingDataSource limiter) {
+                    if (!(limiter.getTargetDataSource() instanceof ProxyDataSource)) {
+                        limiter.setTargetDataSource(proxy(limiter.getTargetDataSource(), beanName, environment));
+                    }
+                    return limiter;
+                }
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return proxy(dataSource, beanName, environment);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    StatementStatisticsRecorder statementStatisticsRecorder(MeterRegistry meterRegistry, Environment environment) {
+        // Clés : « MÉTHODE motif » ou « Classe.méthode », valeur : nombre maximal de requêtes
+        Map<String, Integer> budgets = Binder.get(environment)
+                .bind("app.datasource.statistics.budgets", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+        return new StatementStatisticsRecorder(meterRegistry, budgets);
+    }
+
+    /**
+     * Avant la chaîne Spring Security : les chargements d'utilisateur du filtre JWT comptent
+     */
+    @Bean
+    FilterRegistrationBean<StatementStatisticsFilter> statementStatisticsFilter(StatementStatisticsRecorder recorder) {
+        FilterRegistrationBean<StatementStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new StatementStatisticsFilter(recorder));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private static DataSource proxy(DataSource dataSource, String name, Environment environment) {
+        Duration slowThreshold = environment.getProperty("app.datasource.statistics.slow-threshold",
+                Duration.class, Duration.ofMillis(200));
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(name)
+                .listener(new StatementStatisticsListener(slowThreshold.toMillis()))
+                .build();
+    }
+}
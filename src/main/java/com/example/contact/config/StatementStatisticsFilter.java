@@ -0,0 +1,46 @@
+package com.example.contact.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Une unité de travail par requête HTTP, publiée sous « MÉTHODE motif »
+ * (ex. GET /api/admin/leads/{id}), comme le tag uri de http.server.requests.
+ * Pour les réponses asynchrones (exports, flux SSE), seule la partie exécutée
+ * sur le thread de la requête est comptée.
+ */
+final class StatementStatisticsFilter extends OncePerRequestFilter {
+
+    private final StatementStatisticsRecorder recorder;
+
+    StatementStatisticsFilter(StatementStatisticsRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        // Nom complet (avec les ids) pour le journal des requêtes lentes uniquement
+        StatementStatistics statistics = StatementStatistics.open(
+                request.getMethod() + " " + request.getRequestURI(), request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statistics.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            recorder.record(StatementStatisticsRecorder.REQUEST,
+                    request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN"), statistics);
+        }
+    }
+}
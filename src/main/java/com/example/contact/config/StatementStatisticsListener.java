@@ -0,0 +1,49 @@
+package com.example.contact.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Écouteur datasource-proxy : alimente les StatementStatistics du thread et
+ * journalise les requêtes lentes. Seul le SQL (avec ses ?) est journalisé,
+ * jamais les paramètres : ils contiennent des données personnelles.
+ */
+@Slf4j
+final class StatementStatisticsListener implements QueryExecutionListener {
+
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private final long slowThresholdMillis;
+
+    StatementStatisticsListener(long slowThresholdMillis) {
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        if (queries.isEmpty()) {
+            return;
+        }
+        String sql = queries.get(0).getQuery();
+        // Lot préparé : un SQL, un jeu de paramètres par ordre ; lot de Statement : un SQL par ordre
+        int statements = execution.isBatch() ? execution.getBatchSize() : queries.size();
+        StatementStatistics.record(QueryUtils.getQueryType(sql), statements, execution.isBatch(), execution.getElapsedTime());
+
+        if (execution.getElapsedTime() >= slowThresholdMillis) {
+            StatementStatistics unit = StatementStatistics.current();
+            log.warn("Requête SQL lente ({} ms, {} ordres, {}) : {}",
+                    execution.getElapsedTime(), statements,
+                    unit != null ? unit.getName() : "hors requête HTTP ou transaction",
+                    sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.contact.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publie les statistiques d'une unité de travail (métriques, budget, journal) et
+ * ouvre une unité par transaction nommée (méthodes @Transactional). Enregistré
+ * auprès du gestionnaire de transactions par Spring Boot.
+ */
+@Slf4j
+final class StatementStatisticsRecorder implements TransactionExecutionListener {
+
+    static final String REQUEST = "request";
+    static final String TRANSACTION = "transaction";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Integer> budgets;
+
+    StatementStatisticsRecorder(MeterRegistry meterRegistry, Map<String, Integer> budgets) {
+        this.meterRegistry = meterRegistry;
+        this.budgets = Map.copyOf(budgets);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        // Les transactions sans nom (TransactionTemplate) ne sont pas suivies
+        if (beginFailure == null && StringUtils.hasText(transaction.getTransactionName())) {
+            StatementStatistics.open(shortName(transaction.getTransactionName()), transaction);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        closeTransaction(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        closeTransaction(transaction);
+    }
+
+    /**
+     * @param name étiquette bornée : motif d'URL ou méthode, jamais d'id
+     */
+    void record(String scope, String name, StatementStatistics statistics) {
+        DistributionSummary.builder("db.queries")
+                .tags("scope", scope, "name", name)
+                .register(meterRegistry)
+                .record(statistics.getQueries());
+        DistributionSummary.builder("db.statements")
+                .tags("scope", scope, "name", name)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        Timer.builder("db.queries.time")
+                .tags("scope", scope, "name", name)
+                .register(meterRegistry)
+                .record(statistics.getElapsedMillis(), TimeUnit.MILLISECONDS);
+
+        Integer budget = budgets.get(name);
+        if (budget != null && statistics.getQueries() > budget) {
+            meterRegistry.counter("db.queries.budget.exceeded", "scope", scope, "name", name).increment();
+            log.warn("Budget SQL dépassé pour {} ({} max) : {}", name, budget, statistics.summary());
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} : {}", name, statistics.summary());
+        }
+    }
+
+    /**
+     * @return budget configuré pour name, ou null
+     */
+    Integer getBudget(String name) {
+        return budgets.get(name);
+    }
+
+    private void closeTransaction(TransactionExecution transaction) {
+        // Appelé deux fois si le commit échoue puis est annulé : seule la première ferme l'unité
+        StatementStatistics statistics = StatementStatistics.current();
+        if (statistics != null && statistics.getOwner() == transaction) {
+            statistics.close();
+            record(TRANSACTION, statistics.getName(), statistics);
+        }
+    }
+
+    /**
+     * com.example.contact.service.LeadService.createLead -> LeadService.createLead
+     */
+    private static String shortName(String transactionName) {
+        int method = transactionName.lastIndexOf('.');
+        int type = method > 0 ? transactionName.lastIndexOf('.', method - 1) : -1;
+        return transactionName.substring(type + 1);
+    }
+}
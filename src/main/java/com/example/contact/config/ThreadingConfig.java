@@ -0,0 +1,43 @@
+package com.example.contact.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Mode threads virtuels : activé par spring.threads.virtual.enabled (Java 21+).
+ * Spring Boot bascule alors Tomcat, l'exécuteur @Async et le scheduler sur des
+ * threads virtuels. Cette configuration ajoute le limiteur devant le pool JDBC ;
+ * l'envoi SMTP reste sur un thread plateforme (voir EmailOutboxDispatcher).
+ */
+@Configuration
+public class ThreadingConfig {
+
+    /**
+     * Place un sémaphore devant le pool de connexions pour borner le nombre de
+     * threads (virtuels) simultanément dans le code JDBC.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.concurrency-limit.enabled", havingValue = "true")
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource)) {
+                    int maxConcurrency = environment.getProperty("app.datasource.concurrency-limit.max-concurrency",
+                            Integer.class,
+                            environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                    Duration acquireTimeout = environment.getProperty("app.datasource.concurrency-limit.acquire-timeout",
+                            Duration.class, Duration.ofSeconds(10));
+                    return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
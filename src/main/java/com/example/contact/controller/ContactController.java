@@ -2,11 +2,23 @@ package com.example.contact.controller;
 
 import com.example.contact.dto.request.ContactFormRequest;
 import com.example.contact.dto.response.MessageResponse;
-import com.example.contact.service.LeadService;
+import com.example.contact.exception.ServiceUnavailableException;
+import com.example.contact.exception.TooManyRequestsException;
+import com.example.contact.security.ContactRateLimiter;
+import com.example.contact.service.LeadBulkIntakeService;
+import com.example.contact.service.LeadIntakeService;
+import com.example.contact.service.SubmissionDeduplicator;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/contact")
@@ -14,21 +26,61 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*") // Permet les requêtes de n'importe quel frontend
 public class ContactController {
 
-    private final LeadService leadService;
+    private final LeadIntakeService leadIntakeService;
+    private final ContactRateLimiter contactRateLimiter;
+    private final SubmissionDeduplicator submissionDeduplicator;
+    private final LeadBulkIntakeService leadBulkIntakeService;
 
     /**
      * Endpoint PUBLIC - Soumettre le formulaire de contact
-     * Accessible sans authentification
+     * Accessible sans authentification. Un renvoi (même Idempotency-Key, ou même
+     * email et message dans la fenêtre de déduplication) reçoit la même réponse
+     * sans créer de second lead.
      */
     @PostMapping
     public ResponseEntity<MessageResponse> submitContactForm(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody ContactFormRequest request) {
 
-        leadService.createLead(request);
+        SubmissionDeduplicator.Result result = submissionDeduplicator.submit(idempotencyKey, request, () -> {
+            // La limite par IP est appliquée en amont (ContactRateLimitFilter) ; celle par
+            // email nécessite le corps de la requête
+            long waitMillis = contactRateLimiter.acquireForEmail(request.getEmail());
+            if (waitMillis > 0) {
+                throw new TooManyRequestsException(
+                        "Trop de demandes pour cette adresse email, veuillez réessayer plus tard.",
+                        (waitMillis + 999) / 1000);
+            }
+            return leadIntakeService.submit(request);
+        });
+
+        if (result.isPending()) {
+            // Pas encore commité (mode batch) : le lot peut encore échouer, aucun accusé de
+            // succès. Le renvoi est rejoué par la déduplication tant que l'original est suivi.
+            throw new ServiceUnavailableException(
+                    "Votre demande est en cours d'enregistrement, veuillez réessayer dans quelques secondes.",
+                    Math.max(1, leadIntakeService.getAckTimeout().toSeconds()));
+        }
 
-        return ResponseEntity.ok(
-                new MessageResponse("Merci! Votre message a été envoyé. Nous vous répondrons bientôt.")
-        );
+        return ResponseEntity.ok()
+                .header("Idempotent-Replayed", Boolean.toString(result.replayed()))
+                .body(new MessageResponse("Merci! Votre message a été envoyé. Nous vous répondrons bientôt."));
     }
-}
 
+    /**
+     * Soumission groupée (partenaires, scanners d'événements) - ADMIN
+     * Corps NDJSON (un formulaire par ligne), réponse NDJSON : un résultat par ligne
+     * puis un récapitulatif. Emails de notification désactivés par défaut.
+     */
+    @PostMapping(path = "/bulk", consumes = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> submitBulk(
+            @RequestParam(defaultValue = "false") boolean notify,
+            HttpServletRequest request) throws IOException {
+
+        InputStream body = request.getInputStream();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(out -> leadBulkIntakeService.ingest(body, out, notify));
+    }
+}
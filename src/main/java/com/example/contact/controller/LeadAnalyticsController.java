@@ -0,0 +1,63 @@
+package com.example.contact.controller;
+
+import com.example.contact.dto.response.ConversionRateDto;
+import com.example.contact.dto.response.LeadTimeSeriesPointDto;
+import com.example.contact.model.Lead;
+import com.example.contact.model.LeadRollup;
+import com.example.contact.service.LeadRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = "*")
+public class LeadAnalyticsController {
+
+    private final LeadRollupService rollupService;
+
+    /**
+     * Nombre de leads par tranche (HOUR ou DAY) et par type de demande.
+     * Par défaut : les 90 derniers jours (DAY) ou les 48 dernières heures (HOUR).
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<List<LeadTimeSeriesPointDto>> getTimeSeries(
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String requestType) {
+
+        LeadRollup.Granularity leadGranularity = LeadRollup.Granularity.valueOf(granularity.toUpperCase());
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from
+                : leadGranularity == LeadRollup.Granularity.HOUR ? end.minusHours(48) : end.minusDays(90);
+
+        Lead.RequestType leadRequestType = null;
+        if (requestType != null && !requestType.isEmpty()) {
+            leadRequestType = Lead.RequestType.valueOf(requestType.toUpperCase());
+        }
+
+        return ResponseEntity.ok(rollupService.getTimeSeries(leadGranularity, start, end, leadRequestType));
+    }
+
+    /**
+     * Taux de conversion par type de demande sur une plage (90 derniers jours par défaut)
+     */
+    @GetMapping("/conversion")
+    public ResponseEntity<List<ConversionRateDto>> getConversionRates(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(90);
+
+        return ResponseEntity.ok(rollupService.getConversionRates(start, end));
+    }
+}
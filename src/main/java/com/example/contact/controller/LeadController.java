@@ -1,18 +1,38 @@
 package com.example.contact.controller;
 
+import com.example.contact.dto.request.BulkDeleteRequest;
+import com.example.contact.dto.request.BulkStatusUpdateRequest;
 import com.example.contact.dto.request.UpdateStatusRequest;
+import com.example.contact.dto.response.CursorPageDto;
 import com.example.contact.dto.response.LeadDto;
+import com.example.contact.dto.response.LeadSearchResultDto;
 import com.example.contact.dto.response.LeadStatsDto;
+import com.example.contact.dto.response.LeadSuggestionDto;
+import com.example.contact.dto.response.LeadSummaryDto;
 import com.example.contact.dto.response.MessageResponse;
 import com.example.contact.model.Lead;
+import com.example.contact.service.LeadBulkService;
+import com.example.contact.service.LeadExportService;
+import com.example.contact.service.LeadFeedBroadcaster;
+import com.example.contact.service.LeadSearchService;
 import com.example.contact.service.LeadService;
+import com.example.contact.service.LeadSuggestionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/admin/leads")
@@ -22,12 +42,17 @@ import org.springframework.web.bind.annotation.*;
 public class LeadController {
 
     private final LeadService leadService;
+    private final LeadExportService leadExportService;
+    private final LeadFeedBroadcaster leadFeedBroadcaster;
+    private final LeadBulkService leadBulkService;
+    private final LeadSearchService leadSearchService;
+    private final LeadSuggestionService leadSuggestionService;
 
     /**
      * Liste des leads avec pagination et filtre optionnel par statut
      */
     @GetMapping
-    public ResponseEntity<Page<LeadDto>> getAllLeads(
+    public ResponseEntity<Page<LeadSummaryDto>> getAllLeads(
             @RequestParam(required = false) String status,
             Pageable pageable) {
 
@@ -39,6 +64,103 @@ public class LeadController {
         return ResponseEntity.ok(leadService.getAllLeads(leadStatus, pageable));
     }
 
+    /**
+     * Liste des leads paginée par curseur (sans total), pour les listes profondes
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<LeadSummaryDto>> getLeadsByCursor(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        Lead.LeadStatus leadStatus = null;
+        if (status != null && !status.isEmpty()) {
+            leadStatus = Lead.LeadStatus.valueOf(status.toUpperCase());
+        }
+
+        return ResponseEntity.ok(leadService.getLeadsAfter(leadStatus, cursor, Math.min(Math.max(size, 1), 100)));
+    }
+
+    /**
+     * Recherche plein texte (nom, entreprise, email, message), classée par pertinence.
+     * Chaque mot est comparé par préfixe ; filtres optionnels par statut et type.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<LeadSearchResultDto> searchLeads(
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String requestType,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        Lead.LeadStatus leadStatus = null;
+        if (status != null && !status.isEmpty()) {
+            leadStatus = Lead.LeadStatus.valueOf(status.toUpperCase());
+        }
+        Lead.RequestType leadRequestType = null;
+        if (requestType != null && !requestType.isEmpty()) {
+            leadRequestType = Lead.RequestType.valueOf(requestType.toUpperCase());
+        }
+
+        return ResponseEntity.ok(leadSearchService.search(q, leadStatus, leadRequestType, limit));
+    }
+
+    /**
+     * Autocomplétion : valeurs (entreprise, nom, email) commençant par q, les plus
+     * récentes d'abord. field = company, fullName ou email (tous par défaut).
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<LeadSuggestionDto>> suggestLeads(
+            @RequestParam String q,
+            @RequestParam(required = false) String field,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        LeadSuggestionService.Field suggestionField = null;
+        if (field != null && !field.isEmpty()) {
+            suggestionField = LeadSuggestionService.Field.valueOf(
+                    field.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase());
+        }
+
+        return ResponseEntity.ok(leadSuggestionService.suggest(q, suggestionField, limit));
+    }
+
+    /**
+     * Export en flux (NDJSON ou CSV) avec filtres optionnels par statut et date de création
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLeads(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        LeadExportService.Format exportFormat = LeadExportService.Format.valueOf(format.toUpperCase());
+        Lead.LeadStatus leadStatus = null;
+        if (status != null && !status.isEmpty()) {
+            leadStatus = Lead.LeadStatus.valueOf(status.toUpperCase());
+        }
+        Lead.LeadStatus statusFilter = leadStatus;
+
+        boolean csv = exportFormat == LeadExportService.Format.CSV;
+        MediaType contentType = csv
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.parseMediaType("application/x-ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"leads." + (csv ? "csv" : "ndjson") + "\"")
+                .body(out -> leadExportService.export(exportFormat, statusFilter, from, to, out));
+    }
+
+    /**
+     * Flux temps réel (Server-Sent Events) des nouveaux leads et changements de statut.
+     * Reprise possible via l'en-tête Last-Event-ID (identifiant « époque-numéro »).
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLeads(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return leadFeedBroadcaster.subscribe(lastEventId);
+    }
+
     /**
      * Détail d'un lead
      */
@@ -67,6 +189,29 @@ public class LeadController {
         return ResponseEntity.ok(new MessageResponse("Lead supprimé avec succès"));
     }
 
+    /**
+     * Changement de statut groupé (liste d'identifiants ou filtre), traité par lots.
+     * Réponse NDJSON : une ligne de progression par lot puis un récapitulatif.
+     */
+    @PostMapping("/bulk/status")
+    public ResponseEntity<StreamingResponseBody> bulkUpdateStatus(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        LeadBulkService.Selection selection = leadBulkService.select(request.getIds(), request.getFilter());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(out -> leadBulkService.updateStatus(selection, request.getStatus(), out));
+    }
+
+    /**
+     * Suppression groupée (liste d'identifiants ou filtre), traitée par lots
+     */
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<StreamingResponseBody> bulkDelete(@Valid @RequestBody BulkDeleteRequest request) {
+        LeadBulkService.Selection selection = leadBulkService.select(request.getIds(), request.getFilter());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(out -> leadBulkService.delete(selection, out));
+    }
+
     /**
      * Statistiques des leads
      */
@@ -0,0 +1,59 @@
+package com.example.contact.controller;
+
+import com.example.contact.dto.response.LeadImportJobDto;
+import com.example.contact.service.LeadImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/imports")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = "*")
+public class LeadImportController {
+
+    private final LeadImportService leadImportService;
+
+    /**
+     * Import de leads historiques : corps = fichier CSV (UTF-8, ligne d'en-tête obligatoire).
+     * L'import s'exécute en arrière-plan ; suivre la progression via GET /{id}.
+     */
+    @PostMapping(consumes = {"text/csv", "application/octet-stream"})
+    public ResponseEntity<LeadImportJobDto> startImport(
+            @RequestParam(required = false) String fileName,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(leadImportService.start(fileName, request.getInputStream()));
+    }
+
+    /**
+     * Liste des imports (du plus récent au plus ancien)
+     */
+    @GetMapping
+    public ResponseEntity<List<LeadImportJobDto>> getImports() {
+        return ResponseEntity.ok(leadImportService.getJobs());
+    }
+
+    /**
+     * Progression d'un import
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<LeadImportJobDto> getImport(@PathVariable Long id) {
+        return ResponseEntity.ok(leadImportService.getJob(id));
+    }
+
+    /**
+     * Reprise d'un import en échec après le dernier lot commité
+     */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<LeadImportJobDto> resumeImport(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(leadImportService.resume(id));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.contact.controller;
+
+import com.example.contact.service.UserAdminService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = "*")
+public class UserAdminController {
+
+    private final UserAdminService userAdminService;
+
+    /**
+     * Désactive un compte : ses tokens en cours sont refusés immédiatement
+     */
+    @PostMapping("/{id}/disable")
+    public ResponseEntity<Void> disable(@PathVariable Long id) {
+        userAdminService.disable(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Révoque les tokens déjà émis pour un compte (fuite, changement de poste)
+     */
+    @PostMapping("/{id}/revoke-tokens")
+    public ResponseEntity<Void> revokeTokens(@PathVariable Long id) {
+        userAdminService.revokeTokens(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.contact.dto.request;
+
+import jakarta.validation.Valid;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Suppression groupée : soit une liste d'identifiants, soit un filtre
+ */
+@Data
+public class BulkDeleteRequest {
+
+    private List<Long> ids;
+
+    @Valid
+    private LeadFilterRequest filter;
+}
@@ -0,0 +1,23 @@
+package com.example.contact.dto.request;
+
+import com.example.contact.model.Lead;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Changement de statut groupé : soit une liste d'identifiants, soit un filtre
+ */
+@Data
+public class BulkStatusUpdateRequest {
+
+    private List<Long> ids;
+
+    @Valid
+    private LeadFilterRequest filter;
+
+    @NotNull(message = "Le statut est obligatoire")
+    private Lead.LeadStatus status;
+}
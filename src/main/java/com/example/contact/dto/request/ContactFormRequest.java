@@ -14,12 +14,15 @@ public class ContactFormRequest {
     @Size(max = 100, message = "Le nom ne doit pas dépasser 100 caractères")
     private String fullName;
 
+    @Size(max = 255, message = "L'entreprise ne doit pas dépasser 255 caractères")
     private String company;
 
     @NotBlank(message = "L'email est obligatoire")
     @Email(message = "Format d'email invalide")
+    @Size(max = 255, message = "L'email ne doit pas dépasser 255 caractères")
     private String email;
 
+    @Size(max = 255, message = "Le téléphone ne doit pas dépasser 255 caractères")
     private String phone;
 
     @NotNull(message = "Le type de demande est obligatoire")
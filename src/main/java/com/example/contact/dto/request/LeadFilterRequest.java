@@ -0,0 +1,17 @@
+package com.example.contact.dto.request;
+
+import com.example.contact.model.Lead;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class LeadFilterRequest {
+
+    private Lead.LeadStatus status;
+
+    private Lead.RequestType requestType;
+
+    // Leads créés strictement avant cette date
+    private LocalDateTime createdBefore;
+}
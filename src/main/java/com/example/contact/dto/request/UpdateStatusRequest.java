@@ -9,5 +9,9 @@ public class UpdateStatusRequest {
 
     @NotNull(message = "Le statut est obligatoire")
     private Lead.LeadStatus status;
+
+    // Version lue par le client (LeadDto.version) : si fournie, la mise à jour échoue
+    // (409) lorsque le lead a été modifié entre-temps
+    private Long version;
 }
 
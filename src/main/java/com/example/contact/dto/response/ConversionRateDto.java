@@ -0,0 +1,13 @@
+package com.example.contact.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ConversionRateDto {
+    private String requestType;
+    private long totalLeads;
+    private long convertedLeads;
+    private double conversionRate;
+}
@@ -0,0 +1,19 @@
+package com.example.contact.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Tranche de résultats paginée par curseur : pas de total, seulement
+ * le curseur opaque de la tranche suivante.
+ */
+@Data
+@Builder
+public class CursorPageDto<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,26 @@
+package com.example.contact.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement du flux temps réel des leads (sans le message, trop volumineux)
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LeadFeedEventDto {
+    private String type;
+    private Long leadId;
+    private String fullName;
+    private String company;
+    private String requestType;
+    private String status;
+    private String previousStatus;
+    private LocalDateTime createdAt;
+    // Nombre de leads des événements groupés
+    private Integer count;
+}
@@ -0,0 +1,23 @@
+package com.example.contact.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class LeadImportJobDto {
+    private Long id;
+    private String fileName;
+    private String status;
+    private long totalBytes;
+    private long processedBytes;
+    private double progress;
+    private long importedRows;
+    private long rejectedRows;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,12 @@
+package com.example.contact.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LeadSearchHitDto {
+    // Pertinence relative (comparable au sein d'une même recherche uniquement)
+    private double score;
+    private LeadSummaryDto lead;
+}
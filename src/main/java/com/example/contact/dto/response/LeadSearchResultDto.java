@@ -0,0 +1,17 @@
+package com.example.contact.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Résultats d'une recherche plein texte, du plus pertinent au moins pertinent
+ */
+@Data
+@Builder
+public class LeadSearchResultDto {
+    private List<LeadSearchHitDto> content;
+    private int size;
+    private long tookMs;
+}
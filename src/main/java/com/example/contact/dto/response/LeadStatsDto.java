@@ -3,6 +3,8 @@ package com.example.contact.dto.response;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.Map;
+
 @Data
 @Builder
 public class LeadStatsDto {
@@ -12,5 +14,6 @@ public class LeadStatsDto {
     private long convertedLeads;
     private long lostLeads;
     private double conversionRate;
+    private Map<String, Long> requestTypes;
 }
 
@@ -0,0 +1,16 @@
+package com.example.contact.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class LeadSuggestionDto {
+    // COMPANY, FULL_NAME ou EMAIL
+    private String field;
+    private String value;
+    private int leadCount;
+    private LocalDateTime lastLeadAt;
+}
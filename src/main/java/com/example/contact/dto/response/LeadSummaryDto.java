@@ -0,0 +1,51 @@
+package com.example.contact.dto.response;
+
+import com.example.contact.model.Lead;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lead dans les listes : projection JPQL construite directement depuis la requête,
+ * sans entité ni message complet (seulement un aperçu). Le message entier est
+ * renvoyé par le détail d'un lead.
+ */
+@Data
+public class LeadSummaryDto {
+
+    public static final int PREVIEW_LENGTH = 200;
+
+    private Long id;
+    private String fullName;
+    private String company;
+    private String email;
+    private String phone;
+    private String requestType;
+    private String messagePreview;
+    private boolean messageTruncated;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+
+    /**
+     * @param messageHead les PREVIEW_LENGTH + 1 premiers caractères du message : un
+     *                    caractère de plus indique que le message est tronqué
+     */
+    public LeadSummaryDto(Long id, String fullName, String company, String email, String phone,
+                          Lead.RequestType requestType, String messageHead, Lead.LeadStatus status,
+                          LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this.id = id;
+        this.fullName = fullName;
+        this.company = company;
+        this.email = email;
+        this.phone = phone;
+        this.requestType = requestType.name();
+        this.messageTruncated = messageHead != null && messageHead.length() > PREVIEW_LENGTH;
+        this.messagePreview = messageTruncated ? messageHead.substring(0, PREVIEW_LENGTH) : messageHead;
+        this.status = status.name();
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.contact.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class LeadTimeSeriesPointDto {
+    private LocalDateTime bucketStart;
+    private String requestType;
+    private long totalLeads;
+    private long newLeads;
+    private long contactedLeads;
+    private long convertedLeads;
+    private long lostLeads;
+    private double conversionRate;
+}
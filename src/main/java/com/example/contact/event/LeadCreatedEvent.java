@@ -0,0 +1,10 @@
+package com.example.contact.event;
+
+import com.example.contact.model.Lead;
+
+/**
+ * Publié par LeadService à la création d'un lead ; les écouteurs
+ * {@code @TransactionalEventListener} le reçoivent après le commit.
+ */
+public record LeadCreatedEvent(Lead lead) {
+}
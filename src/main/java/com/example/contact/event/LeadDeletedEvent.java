@@ -0,0 +1,16 @@
+package com.example.contact.event;
+
+import com.example.contact.model.Lead;
+
+import java.time.LocalDateTime;
+
+public record LeadDeletedEvent(
+        Long id,
+        Lead.RequestType requestType,
+        LocalDateTime createdAt,
+        Lead.LeadStatus status,
+        // Valeurs retirées des suggestions (LeadSuggestionService)
+        String fullName,
+        String company,
+        String email) {
+}
@@ -0,0 +1,13 @@
+package com.example.contact.event;
+
+import com.example.contact.model.Lead;
+
+import java.time.LocalDateTime;
+
+public record LeadStatusChangedEvent(
+        Long id,
+        Lead.RequestType requestType,
+        LocalDateTime createdAt,
+        Lead.LeadStatus oldStatus,
+        Lead.LeadStatus newStatus) {
+}
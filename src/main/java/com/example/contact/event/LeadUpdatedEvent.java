@@ -0,0 +1,8 @@
+package com.example.contact.event;
+
+/**
+ * Publié à chaque mise à jour réussie d'un lead, même sans changement de statut :
+ * version et updated_at changent toujours (détail en cache à invalider).
+ */
+public record LeadUpdatedEvent(Long id) {
+}
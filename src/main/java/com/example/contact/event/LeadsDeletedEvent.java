@@ -0,0 +1,9 @@
+package com.example.contact.event;
+
+import java.util.List;
+
+/**
+ * Suppression groupée : un événement par lot commité (et non par lead)
+ */
+public record LeadsDeletedEvent(List<LeadDeletedEvent> deletions) {
+}
@@ -0,0 +1,12 @@
+package com.example.contact.event;
+
+import com.example.contact.model.Lead;
+
+import java.util.List;
+
+/**
+ * Publié par l'import CSV pour chaque lot de leads historiques inséré (hors JPA,
+ * sans notification) ; reçu après le commit du lot.
+ */
+public record LeadsImportedEvent(List<Lead> leads) {
+}
@@ -0,0 +1,9 @@
+package com.example.contact.event;
+
+import java.util.List;
+
+/**
+ * Changement de statut groupé : un événement par lot commité (et non par lead)
+ */
+public record LeadsStatusChangedEvent(List<LeadStatusChangedEvent> changes) {
+}
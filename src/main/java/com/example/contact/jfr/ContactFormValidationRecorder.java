@@ -0,0 +1,36 @@
+package com.example.contact.jfr;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+/**
+ * Validateur Spring MVC (@Valid) : phase validation de l'intake pour les
+ * ContactFormRequest, délégation simple pour les autres corps de requête
+ */
+public class ContactFormValidationRecorder extends SpringValidatorAdapter {
+
+    public ContactFormValidationRecorder(jakarta.validation.Validator validator) {
+        super(validator);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        if (target instanceof ContactFormRequest request) {
+            LeadIntakeEvent.record(LeadIntakeEvent.VALIDATION, request.getRequestType(), 1,
+                    () -> super.validate(target, errors));
+        } else {
+            super.validate(target, errors);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (target instanceof ContactFormRequest request) {
+            LeadIntakeEvent.record(LeadIntakeEvent.VALIDATION, request.getRequestType(), 1,
+                    () -> super.validate(target, errors, validationHints));
+        } else {
+            super.validate(target, errors, validationHints);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.contact.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.Supplier;
+
+/**
+ * Analyse et vérification (signature, expiration) du JWT d'une requête
+ */
+@Name(JwtVerificationEvent.NAME)
+@Label("Vérification JWT")
+@Category({"Contact API", "Sécurité"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    public static final String NAME = "com.example.contact.JwtVerification";
+
+    @Label("Issue")
+    @Description("ok, ou nom de l'exception levée (token expiré, signature invalide...)")
+    private String outcome;
+
+    public static <T> T record(Supplier<T> verification) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        Throwable failure = null;
+        try {
+            return verification.get();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.outcome = Outcomes.of(failure);
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.contact.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.Supplier;
+
+/**
+ * Phase de l'enregistrement d'un formulaire : validation, écriture en base
+ * (persist) ou mise en outbox des emails et publication de l'événement (notify).
+ * Une création groupée produit un événement par phase pour tout le lot.
+ */
+@Name(LeadIntakeEvent.NAME)
+@Label("Intake de lead")
+@Category({"Contact API", "Leads"})
+@StackTrace(false)
+public class LeadIntakeEvent extends Event {
+
+    public static final String NAME = "com.example.contact.LeadIntake";
+
+    public static final String VALIDATION = "validation";
+    public static final String PERSIST = "persist";
+    public static final String NOTIFY = "notify";
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Type de demande")
+    @Description("Absent pour un lot ou une demande sans type")
+    private String requestType;
+
+    @Label("Leads")
+    private int leads;
+
+    @Label("Issue")
+    @Description("ok, ou nom de l'exception levée")
+    private String outcome;
+
+    /**
+     * Exécute la phase et l'enregistre si un enregistrement JFR actif le demande.
+     * Sans enregistrement, seul le test de shouldCommit est payé.
+     */
+    public static <T> T record(String phase, Enum<?> requestType, int leads, Supplier<T> operation) {
+        LeadIntakeEvent event = new LeadIntakeEvent();
+        event.begin();
+        Throwable failure = null;
+        try {
+            return operation.get();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = phase;
+                event.requestType = requestType != null ? requestType.name() : null;
+                event.leads = leads;
+                event.outcome = Outcomes.of(failure);
+                event.commit();
+            }
+        }
+    }
+
+    public static void record(String phase, Enum<?> requestType, int leads, Runnable operation) {
+        record(phase, requestType, leads, () -> {
+            operation.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.contact.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Conversation SMTP d'un lot de l'outbox (EmailOutboxDispatcher), attente du
+ * thread d'envoi comprise
+ */
+@Name(MailSendEvent.NAME)
+@Label("Envoi SMTP")
+@Category({"Contact API", "Emails"})
+@StackTrace(false)
+public class MailSendEvent extends Event {
+
+    public static final String NAME = "com.example.contact.MailSend";
+
+    @Label("Messages")
+    private int messages;
+
+    @Label("En échec")
+    private int failed;
+
+    @Label("Issue")
+    @Description("ok, ou nom de la première exception d'envoi")
+    private String outcome;
+
+    public void complete(int messages, int failed, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.messages = messages;
+            this.failed = failed;
+            this.outcome = Outcomes.of(failure);
+            commit();
+        }
+    }
+}
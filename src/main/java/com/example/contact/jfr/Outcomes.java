@@ -0,0 +1,17 @@
+package com.example.contact.jfr;
+
+/**
+ * Valeur du champ outcome commun aux événements : ok, ou nom simple de
+ * l'exception levée (valeurs bornées, regroupables par l'analyseur)
+ */
+final class Outcomes {
+
+    static final String OK = "ok";
+
+    private Outcomes() {
+    }
+
+    static String of(Throwable failure) {
+        return failure == null ? OK : failure.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.contact.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Appel d'une méthode de repository Spring Data, transaction exclue
+ * (voir RepositoryQueryRecorder)
+ */
+@Name(RepositoryQueryEvent.NAME)
+@Label("Requête repository")
+@Category({"Contact API", "Base de données"})
+@StackTrace(false)
+public class RepositoryQueryEvent extends Event {
+
+    public static final String NAME = "com.example.contact.RepositoryQuery";
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Méthode")
+    private String method;
+
+    @Label("Résultats")
+    @Description("Éléments retournés (collection, page, Optional) ; -1 pour les autres types")
+    private int results;
+
+    @Label("Issue")
+    @Description("ok, ou nom de l'exception levée")
+    private String outcome;
+
+    void complete(String repository, String method, int results, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.method = method;
+            this.results = results;
+            this.outcome = Outcomes.of(failure);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.contact.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Intercepteur ajouté au proxy de chaque repository : un RepositoryQueryEvent par
+ * appel. Placé après l'intercepteur transactionnel de Spring Data, il mesure la
+ * requête sans l'ouverture ni le commit de la transaction.
+ */
+public class RepositoryQueryRecorder implements MethodInterceptor {
+
+    private final String repository;
+
+    public RepositoryQueryRecorder(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.complete(repository, invocation.getMethod().getName(), results(result), failure);
+        }
+    }
+
+    private static int results(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
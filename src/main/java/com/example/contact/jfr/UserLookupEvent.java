@@ -0,0 +1,34 @@
+package com.example.contact.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Chargement de l'utilisateur d'un JWT sans rôles (UserLookupCache)
+ */
+@Name(UserLookupEvent.NAME)
+@Label("Chargement utilisateur")
+@Category({"Contact API", "Sécurité"})
+@StackTrace(false)
+public class UserLookupEvent extends Event {
+
+    public static final String NAME = "com.example.contact.UserLookup";
+
+    @Label("Depuis le cache")
+    private boolean cached;
+
+    @Label("Trouvé")
+    private boolean found;
+
+    public void complete(boolean cached, boolean found) {
+        end();
+        if (shouldCommit()) {
+            this.cached = cached;
+            this.found = found;
+            commit();
+        }
+    }
+}
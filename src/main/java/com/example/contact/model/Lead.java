@@ -6,7 +6,11 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leads")
+@Table(name = "leads", indexes = {
+        // Index de la pagination par curseur (tri created_at DESC, id DESC)
+        @Index(name = "idx_leads_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_leads_status_created_id", columnList = "status, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,8 +18,11 @@ import java.time.LocalDateTime;
 @Builder
 public class Lead {
 
+    // Séquence avec allocation par blocs : nécessaire pour que Hibernate puisse
+    // regrouper les INSERT en batch JDBC (impossible avec IDENTITY)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lead_seq")
+    @SequenceGenerator(name = "lead_seq", sequenceName = "leads_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -43,18 +50,20 @@ public class Lead {
 
     private LocalDateTime createdAt;
 
+    // Positionné par les requêtes de modification elles-mêmes (voir LeadRepositoryImpl)
     private LocalDateTime updatedAt;
 
+    // Verrouillage optimiste : détecte les modifications concurrentes de deux admins
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long version = 0L;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
     }
 
-    @PreUpdate
-    protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
-    }
-
     public enum RequestType {
         INFO,        // Demande d'information
         QUOTE,       // Demande de devis
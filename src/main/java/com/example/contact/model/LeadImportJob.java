@@ -0,0 +1,65 @@
+package com.example.contact.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Import CSV de leads historiques. committedOffset est la position (en octets) jusqu'à
+ * laquelle les lignes du fichier sont commitées : un import en échec reprend à partir de là.
+ */
+@Entity
+@Table(name = "lead_import_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeadImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lead_import_jobs_seq")
+    @SequenceGenerator(name = "lead_import_jobs_seq", sequenceName = "lead_import_jobs_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false, length = 1000)
+    private String storedPath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private ImportStatus status = ImportStatus.PENDING;
+
+    private long totalBytes;
+
+    private long committedOffset;
+
+    private long importedRows;
+
+    private long rejectedRows;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum ImportStatus {
+        PENDING,    // En attente d'exécution
+        RUNNING,    // En cours
+        COMPLETED,  // Terminé
+        FAILED      // En échec (reprise possible)
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.contact.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Agrégat du nombre de leads par tranche de temps (date de création),
+ * type de demande et statut courant.
+ */
+@Entity
+@Table(name = "lead_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_lead_rollups_bucket",
+                columnNames = {"granularity", "bucket_start", "request_type", "status"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeadRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lead_rollup_seq")
+    @SequenceGenerator(name = "lead_rollup_seq", sequenceName = "lead_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Lead.RequestType requestType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Lead.LeadStatus status;
+
+    @Column(nullable = false)
+    private long count;
+
+    public enum Granularity {
+        HOUR,
+        DAY
+    }
+}
@@ -38,6 +38,14 @@ public class User implements UserDetails {
     @Builder.Default
     private Role role = Role.ADMIN;
 
+    // Compte désactivé : ses tokens sont refusés (voir UserStatusRegistry)
+    @Column(nullable = false, columnDefinition = "boolean default true")
+    @Builder.Default
+    private boolean enabled = true;
+
+    // Révocation : les tokens émis avant cette date sont refusés
+    private LocalDateTime tokensValidAfter;
+
     private LocalDateTime createdAt;
 
     @PrePersist
@@ -78,7 +86,7 @@ public class User implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
     }
 }
 
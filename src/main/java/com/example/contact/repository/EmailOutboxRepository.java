@@ -0,0 +1,33 @@
+package com.example.contact.repository;
+
+import com.example.contact.model.EmailOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Réserve un lot d'emails à envoyer. Le timeout -2 se traduit par
+     * FOR UPDATE SKIP LOCKED : plusieurs instances peuvent dépiler en parallèle.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailOutbox m WHERE m.status = 'PENDING' AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<EmailOutbox> claimBatch(@Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatus(EmailOutbox.OutboxStatus status);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox m WHERE m.status = 'SENT' AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,15 @@
+package com.example.contact.repository;
+
+import com.example.contact.model.Lead;
+
+import java.time.LocalDateTime;
+
+/**
+ * Critères de sélection des opérations groupées (null = critère ignoré)
+ */
+public record LeadFilter(Lead.LeadStatus status, Lead.RequestType requestType, LocalDateTime createdBefore) {
+
+    public boolean isEmpty() {
+        return status == null && requestType == null && createdBefore == null;
+    }
+}
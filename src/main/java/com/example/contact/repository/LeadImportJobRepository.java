@@ -0,0 +1,13 @@
+package com.example.contact.repository;
+
+import com.example.contact.model.LeadImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface LeadImportJobRepository extends JpaRepository<LeadImportJob, Long> {
+
+    List<LeadImportJob> findAllByOrderByCreatedAtDesc();
+
+    List<LeadImportJob> findByStatus(LeadImportJob.ImportStatus status);
+}
@@ -1,25 +1,83 @@
 package com.example.contact.repository;
 
+import com.example.contact.dto.response.LeadSummaryDto;
 import com.example.contact.model.Lead;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface LeadRepository extends JpaRepository<Lead, Long> {
+public interface LeadRepository extends JpaRepository<Lead, Long>, LeadRepositoryCustom {
 
     Optional<Lead> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
-    Page<Lead> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    // Listes : projection sur LeadSummaryDto, le message n'est lu que jusqu'à l'aperçu
+    String SUMMARY_SELECT = "SELECT new com.example.contact.dto.response.LeadSummaryDto(" +
+            "l.id, l.fullName, l.company, l.email, l.phone, l.requestType, substring(l.message, 1, " + (LeadSummaryDto.PREVIEW_LENGTH + 1) + "), " +
+            "l.status, l.createdAt, l.updatedAt, l.version) FROM Lead l ";
 
-    Page<Lead> findByStatusOrderByCreatedAtDesc(Lead.LeadStatus status, Pageable pageable);
+    // Transaction propre (page + COUNT) : appelées hors transaction par LeadService
+    // quand le LeadReadCache n'a pas la page
+    @Transactional(readOnly = true)
+    @Query(value = SUMMARY_SELECT + "ORDER BY l.createdAt DESC",
+            countQuery = "SELECT COUNT(l) FROM Lead l")
+    Page<LeadSummaryDto> findSummaries(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(value = SUMMARY_SELECT + "WHERE l.status = :status ORDER BY l.createdAt DESC",
+            countQuery = "SELECT COUNT(l) FROM Lead l WHERE l.status = :status")
+    Page<LeadSummaryDto> findSummariesByStatus(@Param("status") Lead.LeadStatus status, Pageable pageable);
+
+    // Résultats de recherche : l'ordre est celui du classement, appliqué par l'appelant
+    @Query(SUMMARY_SELECT + "WHERE l.id IN :ids")
+    List<LeadSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Pagination par curseur (keyset) : pas d'OFFSET ni de COUNT, le Pageable ne sert qu'à la limite
+
+    @Query(SUMMARY_SELECT + "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeadSummaryDto> findFirstSlice(Pageable limit);
+
+    @Query(SUMMARY_SELECT + "WHERE l.createdAt <= :createdAt AND (l.createdAt < :createdAt OR l.id < :id) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeadSummaryDto> findSliceAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                        Pageable limit);
+
+    @Query(SUMMARY_SELECT + "WHERE l.status = :status ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeadSummaryDto> findFirstSliceByStatus(@Param("status") Lead.LeadStatus status, Pageable limit);
+
+    @Query(SUMMARY_SELECT + "WHERE l.status = :status " +
+            "AND l.createdAt <= :createdAt AND (l.createdAt < :createdAt OR l.id < :id) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeadSummaryDto> findSliceByStatusAfter(@Param("status") Lead.LeadStatus status,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable limit);
 
     long countByStatus(Lead.LeadStatus status);
 
+    @Query("SELECT l.status AS status, l.requestType AS requestType, COUNT(l) AS total " +
+            "FROM Lead l GROUP BY l.status, l.requestType")
+    List<LeadStatusCount> countGroupedByStatusAndRequestType();
+
+    /**
+     * Comptage par heure de création, type et statut : reconstruit les rollups
+     * (colonnes : année, mois, jour, heure, type, statut, nombre)
+     */
+    @Query("SELECT year(l.createdAt), month(l.createdAt), day(l.createdAt), hour(l.createdAt), " +
+            "l.requestType, l.status, COUNT(l) FROM Lead l " +
+            "GROUP BY year(l.createdAt), month(l.createdAt), day(l.createdAt), hour(l.createdAt), " +
+            "l.requestType, l.status")
+    List<Object[]> countGroupedByCreationHour();
+
     @Query("SELECT COUNT(l) FROM Lead l WHERE l.status = 'NEW'")
     long countNewLeads();
 }
@@ -0,0 +1,54 @@
+package com.example.contact.repository;
+
+import com.example.contact.model.Lead;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Modifications d'un lead en une seule instruction SQL, sans lecture préalable
+ * (voir LeadRepositoryImpl).
+ */
+public interface LeadRepositoryCustom {
+
+    /**
+     * Change le statut et renvoie le nouvel état.
+     *
+     * @param expectedVersion version connue du client, ou null pour ne pas la vérifier
+     * @return vide si le lead n'existe pas ou si sa version ne correspond pas
+     */
+    Optional<LeadStatusUpdate> updateStatusReturning(Long id,
+                                                     Lead.LeadStatus status,
+                                                     Long expectedVersion,
+                                                     LocalDateTime updatedAt);
+
+    /**
+     * Supprime le lead et renvoie son dernier état (sans le message ni le téléphone)
+     *
+     * @return vide si le lead n'existe pas
+     */
+    Optional<Lead> deleteReturning(Long id);
+
+    /**
+     * Identifiants des leads correspondant au filtre, par ordre croissant après afterId
+     * (pagination keyset des opérations groupées)
+     */
+    List<Long> findIdsAfter(LeadFilter filter, long afterId, int limit);
+
+    /**
+     * Change le statut d'un lot de leads en une instruction. Les leads ayant déjà ce
+     * statut ne sont pas modifiés.
+     *
+     * @return les leads modifiés (sans message ni coordonnées) et leur statut précédent
+     */
+    List<LeadStatusUpdate> updateStatusBulk(Collection<Long> ids, Lead.LeadStatus status, LocalDateTime updatedAt);
+
+    /**
+     * Supprime un lot de leads en une instruction
+     *
+     * @return le dernier état des leads supprimés (sans le message ni le téléphone)
+     */
+    List<Lead> deleteBulk(Collection<Long> ids);
+}
@@ -0,0 +1,204 @@
+package com.example.contact.repository;
+
+import com.example.contact.model.Lead;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Changement de statut et suppression en un aller-retour, unitaires ou par lot.
+ *
+ * PostgreSQL : UPDATE / DELETE ... RETURNING (le statut précédent est lu par une
+ * sous-requête FOR UPDATE dans la même instruction). H2 : SELECT ... FROM OLD TABLE
+ * (UPDATE / DELETE ...), qui renvoie la ligne telle qu'avant la modification.
+ * updated_at et version sont positionnés par la requête elle-même : ni lecture
+ * préalable, ni callback JPA.
+ */
+class LeadRepositoryImpl implements LeadRepositoryCustom {
+
+    private static final String COLUMNS =
+            "id, full_name, company, email, phone, request_type, message, status, created_at, updated_at, version";
+
+    private static final RowMapper<Lead> LEAD_MAPPER = (rs, i) -> Lead.builder()
+            .id(rs.getLong("id"))
+            .fullName(rs.getString("full_name"))
+            .company(rs.getString("company"))
+            .email(rs.getString("email"))
+            .phone(rs.getString("phone"))
+            .requestType(Lead.RequestType.valueOf(rs.getString("request_type")))
+            .message(rs.getString("message"))
+            .status(Lead.LeadStatus.valueOf(rs.getString("status")))
+            .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+            .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+            .version(rs.getLong("version"))
+            .build();
+
+    // Lead réduit aux colonnes utiles aux événements (statistiques, rollups)
+    private static final RowMapper<Lead> SUMMARY_MAPPER = (rs, i) -> Lead.builder()
+            .id(rs.getLong("id"))
+            .requestType(Lead.RequestType.valueOf(rs.getString("request_type")))
+            .status(Lead.LeadStatus.valueOf(rs.getString("status")))
+            .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+            .build();
+
+    // Lead supprimé : résumé et coordonnées (suggestions), toujours sans le message
+    private static final String DELETED_COLUMNS = "id, full_name, company, email, request_type, status, created_at";
+
+    private static final RowMapper<Lead> DELETED_MAPPER = (rs, i) -> Lead.builder()
+            .id(rs.getLong("id"))
+            .fullName(rs.getString("full_name"))
+            .company(rs.getString("company"))
+            .email(rs.getString("email"))
+            .requestType(Lead.RequestType.valueOf(rs.getString("request_type")))
+            .status(Lead.LeadStatus.valueOf(rs.getString("status")))
+            .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    LeadRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public Optional<LeadStatusUpdate> updateStatusReturning(Long id,
+                                                            Lead.LeadStatus status,
+                                                            Long expectedVersion,
+                                                            LocalDateTime updatedAt) {
+        String versionCheck = expectedVersion != null ? " AND l.version = ?" : "";
+        List<Object> args = new ArrayList<>(5);
+        args.add(status.name());
+        args.add(Timestamp.valueOf(updatedAt));
+        args.add(id);
+        if (expectedVersion != null) {
+            args.add(expectedVersion);
+        }
+
+        if (isPostgres()) {
+            String sql = "UPDATE leads l SET status = ?, updated_at = ?, version = l.version + 1 " +
+                    "FROM (SELECT id, status AS previous_status FROM leads WHERE id = ? FOR UPDATE) old " +
+                    "WHERE l.id = old.id" + versionCheck +
+                    " RETURNING old.previous_status, " + prefixed("l.");
+            return first(jdbcTemplate.query(sql, (rs, i) ->
+                    new LeadStatusUpdate(LEAD_MAPPER.mapRow(rs, i),
+                            Lead.LeadStatus.valueOf(rs.getString("previous_status"))), args.toArray()));
+        }
+
+        // Ligne avant modification : les nouvelles valeurs sont celles que l'on vient d'écrire
+        String sql = "SELECT " + COLUMNS + " FROM OLD TABLE (UPDATE leads l SET status = ?, updated_at = ?, " +
+                "version = l.version + 1 WHERE l.id = ?" + versionCheck + ")";
+        return first(jdbcTemplate.query(sql, (rs, i) -> {
+            Lead lead = LEAD_MAPPER.mapRow(rs, i);
+            Lead.LeadStatus previous = lead.getStatus();
+            lead.setStatus(status);
+            lead.setUpdatedAt(updatedAt);
+            lead.setVersion(lead.getVersion() + 1);
+            return new LeadStatusUpdate(lead, previous);
+        }, args.toArray()));
+    }
+
+    @Override
+    public Optional<Lead> deleteReturning(Long id) {
+        String sql = isPostgres()
+                ? "DELETE FROM leads WHERE id = ? RETURNING " + DELETED_COLUMNS
+                : "SELECT " + DELETED_COLUMNS + " FROM OLD TABLE (DELETE FROM leads WHERE id = ?)";
+        return first(jdbcTemplate.query(sql, DELETED_MAPPER, id));
+    }
+
+    @Override
+    public List<Long> findIdsAfter(LeadFilter filter, long afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id FROM leads WHERE id > ?");
+        List<Object> args = new ArrayList<>(5);
+        args.add(afterId);
+        if (filter.status() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.status().name());
+        }
+        if (filter.requestType() != null) {
+            sql.append(" AND request_type = ?");
+            args.add(filter.requestType().name());
+        }
+        if (filter.createdBefore() != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(filter.createdBefore()));
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    @Override
+    public List<LeadStatusUpdate> updateStatusBulk(Collection<Long> ids, Lead.LeadStatus status, LocalDateTime updatedAt) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(ids.size() + 3);
+        args.add(status.name());
+        args.add(Timestamp.valueOf(updatedAt));
+        args.addAll(ids);
+        args.add(status.name());
+
+        String sql = isPostgres()
+                ? "UPDATE leads l SET status = ?, updated_at = ?, version = l.version + 1 " +
+                  "FROM (SELECT id, status AS previous_status FROM leads WHERE id IN (" + placeholders(ids.size()) +
+                  ") AND status <> ? FOR UPDATE) old WHERE l.id = old.id " +
+                  "RETURNING l.id, l.request_type, l.created_at, old.previous_status AS status"
+                : "SELECT id, request_type, created_at, status FROM OLD TABLE (UPDATE leads SET status = ?, " +
+                  "updated_at = ?, version = version + 1 WHERE id IN (" + placeholders(ids.size()) + ") AND status <> ?)";
+        return jdbcTemplate.query(sql, (rs, i) -> {
+            Lead lead = SUMMARY_MAPPER.mapRow(rs, i);
+            Lead.LeadStatus previous = lead.getStatus();
+            lead.setStatus(status);
+            lead.setUpdatedAt(updatedAt);
+            return new LeadStatusUpdate(lead, previous);
+        }, args.toArray());
+    }
+
+    @Override
+    public List<Lead> deleteBulk(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = isPostgres()
+                ? "DELETE FROM leads WHERE id IN (" + placeholders(ids.size()) + ") RETURNING " + DELETED_COLUMNS
+                : "SELECT " + DELETED_COLUMNS + " FROM OLD TABLE " +
+                  "(DELETE FROM leads WHERE id IN (" + placeholders(ids.size()) + "))";
+        return jdbcTemplate.query(sql, DELETED_MAPPER, ids.toArray());
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            postgres = result;
+        }
+        return result;
+    }
+
+    private static String prefixed(String alias) {
+        return alias + COLUMNS.replace(", ", ", " + alias);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static <T> Optional<T> first(List<T> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.contact.repository;
+
+import com.example.contact.model.Lead;
+import com.example.contact.model.LeadRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface LeadRollupRepository extends JpaRepository<LeadRollup, Long> {
+
+    Optional<LeadRollup> findByGranularityAndBucketStartAndRequestTypeAndStatus(
+            LeadRollup.Granularity granularity,
+            LocalDateTime bucketStart,
+            Lead.RequestType requestType,
+            Lead.LeadStatus status);
+
+    @Query("SELECT r FROM LeadRollup r WHERE r.granularity = :granularity " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart")
+    List<LeadRollup> findRange(@Param("granularity") LeadRollup.Granularity granularity,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+
+    @Query("SELECT r FROM LeadRollup r WHERE r.granularity = :granularity AND r.requestType = :requestType " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart")
+    List<LeadRollup> findRangeByRequestType(@Param("granularity") LeadRollup.Granularity granularity,
+                                            @Param("requestType") Lead.RequestType requestType,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+}
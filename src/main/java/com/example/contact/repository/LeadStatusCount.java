@@ -0,0 +1,15 @@
+package com.example.contact.repository;
+
+import com.example.contact.model.Lead;
+
+/**
+ * Projection du comptage groupé par statut et type de demande
+ */
+public interface LeadStatusCount {
+
+    Lead.LeadStatus getStatus();
+
+    Lead.RequestType getRequestType();
+
+    long getTotal();
+}
@@ -0,0 +1,10 @@
+package com.example.contact.repository;
+
+import com.example.contact.model.Lead;
+
+/**
+ * Résultat d'un changement de statut en une requête : état du lead après mise à jour
+ * (entité détachée) et statut précédent.
+ */
+public record LeadStatusUpdate(Lead lead, Lead.LeadStatus previousStatus) {
+}
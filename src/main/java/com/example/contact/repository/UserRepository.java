@@ -2,7 +2,9 @@ package com.example.contact.repository;
 
 import com.example.contact.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -10,5 +12,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT u FROM User u WHERE u.enabled = false OR u.tokensValidAfter IS NOT NULL")
+    List<User> findDisabledOrRevoked();
 }
 
@@ -0,0 +1,99 @@
+package com.example.contact.security;
+
+import com.example.contact.dto.response.MessageResponse;
+import com.example.contact.service.IntakeLoadShedder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Protection du endpoint public POST /api/contact, avant tout accès à la base :
+ * limite par IP (429) puis contrôle d'admission global (503).
+ */
+@Component
+public class ContactRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String CONTACT_PATH = "/api/contact";
+    private static final long SHED_RETRY_AFTER_SECONDS = 1;
+
+    private final ContactRateLimiter rateLimiter;
+    private final IntakeLoadShedder loadShedder;
+    private final ObjectMapper objectMapper;
+    private final boolean trustForwardedFor;
+
+    public ContactRateLimitFilter(ContactRateLimiter rateLimiter,
+                                  IntakeLoadShedder loadShedder,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.objectMapper = objectMapper;
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // Chemin exact : /api/contact/bulk (admin) a ses propres limites
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !HttpMethod.POST.matches(request.getMethod()) || !CONTACT_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long waitMillis = rateLimiter.acquireForAddress(clientAddress(request));
+        if (waitMillis > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, (waitMillis + 999) / 1000,
+                    "Trop de demandes, veuillez réessayer plus tard.");
+            return;
+        }
+
+        if (!loadShedder.tryAdmit()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, SHED_RETRY_AFTER_SECONDS,
+                    "Service temporairement saturé, veuillez réessayer.");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            loadShedder.release();
+        }
+    }
+
+    private String clientAddress(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            // Derrière un reverse proxy de confiance : premier client de la chaîne
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma >= 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new MessageResponse(message));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.contact.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limites de débit du formulaire de contact public : par adresse IP du client
+ * (appliquée par ContactRateLimitFilter) et par email soumis (appliquée après
+ * validation du corps de la requête).
+ */
+@Component
+public class ContactRateLimiter {
+
+    private final boolean enabled;
+    private final TokenBucketTable addressBuckets;
+    private final TokenBucketTable emailBuckets;
+
+    private final LongAdder rejectedByAddress = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+
+    public ContactRateLimiter(
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.table-size:65536}") int tableSize,
+            @Value("${app.rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${app.rate-limit.ip.refill-interval:3s}") Duration ipRefillInterval,
+            @Value("${app.rate-limit.email.capacity:5}") int emailCapacity,
+            @Value("${app.rate-limit.email.refill-interval:1m}") Duration emailRefillInterval) {
+        this.enabled = enabled;
+        this.addressBuckets = new TokenBucketTable(tableSize, ipCapacity, ipRefillInterval);
+        this.emailBuckets = new TokenBucketTable(tableSize, emailCapacity, emailRefillInterval);
+    }
+
+    /**
+     * @return 0 si la requête est acceptée, sinon le délai (ms) avant de réessayer
+     */
+    public long acquireForAddress(String address) {
+        if (!enabled || address == null) {
+            return 0;
+        }
+        long wait = addressBuckets.tryAcquire(address);
+        if (wait > 0) {
+            rejectedByAddress.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * @return 0 si la requête est acceptée, sinon le délai (ms) avant de réessayer
+     */
+    public long acquireForEmail(String email) {
+        if (!enabled || email == null) {
+            return 0;
+        }
+        long wait = emailBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        if (wait > 0) {
+            rejectedByEmail.increment();
+        }
+        return wait;
+    }
+
+    public long getRejectedByAddress() {
+        return rejectedByAddress.sum();
+    }
+
+    public long getRejectedByEmail() {
+        return rejectedByEmail.sum();
+    }
+}
@@ -1,27 +1,49 @@
 package com.example.contact.security;
 
+import com.example.contact.jfr.JwtVerificationEvent;
+import com.example.contact.model.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserStatusRegistry userStatusRegistry;
+    private final UserLookupCache userLookupCache;
+
+    // Construits une fois : le filtre est sur le chemin de chaque requête
+    private final Timer tokensVerified;
+    private final Timer tokensRejected;
+    private final Timer userLookups;
+
+    public JwtAuthFilter(JwtService jwtService,
+                         UserStatusRegistry userStatusRegistry,
+                         UserLookupCache userLookupCache,
+                         MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userStatusRegistry = userStatusRegistry;
+        this.userLookupCache = userLookupCache;
+        this.tokensVerified = meterRegistry.timer("auth.jwt.verify", "outcome", "valid");
+        this.tokensRejected = meterRegistry.timer("auth.jwt.verify", "outcome", "invalid");
+        this.userLookups = meterRegistry.timer("auth.user.lookup");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -42,17 +64,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Une seule vérification (signature + expiration) par requête
+            Claims claims = verifyToken(jwt);
+            userEmail = claims.getSubject();
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null
+                    && userStatusRegistry.isAccepted(userEmail, claims.getIssuedAt())) {
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
+                UsernamePasswordAuthenticationToken authToken = authenticate(claims, userEmail);
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -63,5 +83,34 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
 
+    private Claims verifyToken(String jwt) {
+        long started = System.nanoTime();
+        try {
+            Claims claims = JwtVerificationEvent.record(() -> jwtService.verifyToken(jwt));
+            tokensVerified.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (RuntimeException e) {
+            tokensRejected.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(Claims claims, String userEmail) {
+        List<GrantedAuthority> authorities = jwtService.extractAuthorities(claims);
+        if (authorities != null) {
+            // Principal construit à partir des claims vérifiés : aucune requête en base
+            return new UsernamePasswordAuthenticationToken(
+                    new JwtPrincipal(jwtService.extractUserId(claims), userEmail),
+                    null,
+                    authorities
+            );
+        }
+
+        // Token émis avant l'ajout des rôles dans les claims : on charge l'utilisateur
+        return userLookups.record(() -> userLookupCache.findByEmail(userEmail))
+                .filter(User::isEnabled)
+                .map(user -> new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.contact.security;
+
+import java.security.Principal;
+
+/**
+ * Utilisateur authentifié reconstruit à partir des claims du JWT, sans accès à la base
+ */
+public record JwtPrincipal(Long userId, String email) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
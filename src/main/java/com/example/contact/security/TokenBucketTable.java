@@ -0,0 +1,95 @@
+package com.example.contact.security;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Table de token buckets sans verrou et de taille fixe.
+ *
+ * Chaque clé est hachée vers une case ; l'état d'un bucket (jetons consommés en
+ * millièmes + instant de la dernière mise à jour) tient dans un seul long, mis à
+ * jour par CAS. Une case jamais utilisée ou inactive depuis assez longtemps vaut
+ * un bucket plein : aucune éviction explicite n'est nécessaire et la mémoire est
+ * bornée par la taille de la table. Deux clés en collision partagent un bucket
+ * (limitation approximative, uniquement plus stricte).
+ */
+class TokenBucketTable {
+
+    private static final int TIME_BITS = 42;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long MILLI = 1000;
+    private static final long MAX_DEFICIT = (1L << (Long.SIZE - TIME_BITS)) - 1;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final int seed = ThreadLocalRandom.current().nextInt();
+    private final long capacityMilli;
+    private final long refillIntervalMillis;
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * @param size           nombre de cases (arrondi à la puissance de 2 supérieure)
+     * @param capacity       taille de rafale autorisée
+     * @param refillInterval délai de regénération d'un jeton
+     */
+    TokenBucketTable(int size, int capacity, Duration refillInterval) {
+        if (capacity <= 0 || capacity * MILLI > MAX_DEFICIT) {
+            throw new IllegalArgumentException("Capacité de bucket invalide: " + capacity);
+        }
+        int tableSize = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.slots = new AtomicLongArray(tableSize);
+        this.mask = tableSize - 1;
+        this.capacityMilli = capacity * MILLI;
+        this.refillIntervalMillis = Math.max(1, refillInterval.toMillis());
+    }
+
+    /**
+     * Consomme un jeton pour la clé.
+     *
+     * @return 0 si le jeton est accordé, sinon le délai en ms avant le prochain jeton
+     */
+    long tryAcquire(String key) {
+        int index = index(key);
+        long now = nowMillis();
+        while (true) {
+            long state = slots.get(index);
+            long deficit = refilled(state, now);
+            long next = deficit + MILLI;
+            if (next > capacityMilli) {
+                return Math.max(1, (next - capacityMilli) * refillIntervalMillis / MILLI);
+            }
+            if (slots.compareAndSet(index, state, (next << TIME_BITS) | now)) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        return slots.length();
+    }
+
+    private long refilled(long state, long now) {
+        long deficit = state >>> TIME_BITS;
+        if (deficit == 0) {
+            return 0;
+        }
+        long elapsed = now - (state & TIME_MASK);
+        if (elapsed <= 0) {
+            return deficit;
+        }
+        // elapsed / interval jetons regagnés, exprimés en millièmes
+        return Math.max(0, deficit - elapsed * MILLI / refillIntervalMillis);
+    }
+
+    private long nowMillis() {
+        // Horloge monotone, relative à la création de la table ; 0 est réservé aux cases vierges
+        return (((System.nanoTime() - startNanos) / 1_000_000) + 1) & TIME_MASK;
+    }
+
+    private int index(String key) {
+        int h = key.hashCode() ^ seed;
+        h *= 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
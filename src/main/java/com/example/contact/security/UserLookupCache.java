@@ -0,0 +1,61 @@
+package com.example.contact.security;
+
+import com.example.contact.jfr.UserLookupEvent;
+import com.example.contact.model.User;
+import com.example.contact.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache local à durée de vie courte des utilisateurs, pour les cas qui ont besoin
+ * de l'entité (les requêtes admin ordinaires se contentent des claims du JWT).
+ * Ne doit pas servir à l'authentification par mot de passe.
+ */
+@Component
+public class UserLookupCache {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserLookupCache(UserRepository userRepository,
+                           @Value("${app.security.user-cache.ttl:60s}") Duration ttl,
+                           @Value("${app.security.user-cache.max-size:1000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public Optional<User> findByEmail(String email) {
+        UserLookupEvent event = new UserLookupEvent();
+        event.begin();
+        long now = System.nanoTime();
+        Entry entry = entries.get(email);
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            event.complete(true, entry.user() != null);
+            return Optional.ofNullable(entry.user());
+        }
+
+        Optional<User> user = userRepository.findByEmail(email);
+        event.complete(false, user.isPresent());
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(e -> now - e.loadedAt() >= ttlNanos);
+        }
+        if (entries.size() < maxSize) {
+            entries.put(email, new Entry(user.orElse(null), now));
+        }
+        return user;
+    }
+
+    public void invalidate(String email) {
+        entries.remove(email);
+    }
+
+    private record Entry(User user, long loadedAt) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.contact.security;
+
+import com.example.contact.model.User;
+import com.example.contact.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Comptes désactivés et révocations de tokens, gardés en mémoire.
+ *
+ * La liste est rechargée périodiquement (une requête toutes les refresh-interval
+ * au lieu d'une par requête HTTP) ; une désactivation prend donc effet au plus
+ * tard au rechargement suivant, ou immédiatement via {@link #disable} et
+ * {@link #revoke} (UserAdminService).
+ *
+ * Une révocation locale arrivée pendant un rechargement n'est pas écrasée par la
+ * lecture, peut-être antérieure à son commit : elle est réappliquée par-dessus,
+ * et oubliée au rechargement suivant, qui la lit forcément en base.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatusRegistry {
+
+    private static final Date DISABLED = new Date(Long.MAX_VALUE);
+
+    private final UserRepository userRepository;
+
+    // email -> date avant laquelle les tokens sont refusés (DISABLED : tous)
+    private volatile Map<String, Date> restrictions = Map.of();
+
+    // Révocations locales, numérotées, non encore couvertes par un rechargement ;
+    // modifiées, comme restrictions, sous lock uniquement
+    private final Map<String, LocalRestriction> recent = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long sequence;
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.security.user-status.refresh-interval:30000}",
+            initialDelayString = "${app.security.user-status.refresh-interval:30000}")
+    public void refresh() {
+        long readStart;
+        lock.lock();
+        try {
+            readStart = sequence;
+        } finally {
+            lock.unlock();
+        }
+
+        Map<String, Date> loaded = new HashMap<>();
+        for (User user : userRepository.findDisabledOrRevoked()) {
+            if (!user.isEnabled()) {
+                loaded.put(user.getEmail(), DISABLED);
+            } else {
+                loaded.put(user.getEmail(),
+                        Date.from(user.getTokensValidAfter().atZone(ZoneId.systemDefault()).toInstant()));
+            }
+        }
+
+        lock.lock();
+        try {
+            // Appelées après le commit : une révocation numérotée avant la lecture y figure
+            recent.values().removeIf(local -> local.sequence() <= readStart);
+            recent.forEach((email, local) -> loaded.put(email, local.notBefore()));
+            restrictions = Map.copyOf(loaded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Un token est accepté si le compte est actif et s'il a été émis après la dernière révocation
+     */
+    public boolean isAccepted(String email, Date issuedAt) {
+        Date notBefore = restrictions.get(email);
+        if (notBefore == null) {
+            return true;
+        }
+        // iat est en secondes : on compare à la seconde près
+        return issuedAt != null && issuedAt.getTime() >= notBefore.getTime() / 1000 * 1000;
+    }
+
+    /**
+     * Désactivation immédiate sur cette instance : plus aucun token accepté
+     */
+    public void disable(String email) {
+        revoke(email, DISABLED);
+    }
+
+    /**
+     * Révocation immédiate sur cette instance (les autres la verront au prochain rechargement)
+     */
+    public void revoke(String email, Date notBefore) {
+        lock.lock();
+        try {
+            recent.put(email, new LocalRestriction(notBefore, ++sequence));
+            Map<String, Date> updated = new HashMap<>(restrictions);
+            updated.put(email, notBefore);
+            restrictions = Map.copyOf(updated);
+        } finally {
+            lock.unlock();
+        }
+        log.info("Tokens révoqués pour {}", email);
+    }
+
+    private record LocalRestriction(Date notBefore, long sequence) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.contact.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache borné des tokens déjà vérifiés, indexé par l'empreinte SHA-256 du token
+ * (le token lui-même n'est pas conservé). Une entrée n'est jamais servie après
+ * l'expiration du token.
+ *
+ * Cache plein : éviction sur un échantillon borné d'entrées (les expirées, sinon
+ * celle qui expire le plus tôt, donc la plus ancienne à durée de vie égale) plutôt
+ * qu'un parcours complet à chaque vérification.
+ */
+class VerifiedTokenCache {
+
+    // Entrées examinées par éviction : coût constant, quelle que soit la taille du cache
+    static final int EVICTION_SAMPLE = 16;
+
+    private final int maxSize;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    Claims get(String token, long nowMillis) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= nowMillis) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    void put(String token, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evictSample(System.currentTimeMillis());
+        }
+        entries.put(hash(token), new Entry(claims, claims.getExpiration().getTime()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // Clés SHA-256 uniformément réparties : les premières entrées de la table sont un échantillon
+    private void evictSample(long nowMillis) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        Map.Entry<String, Entry> oldest = null;
+        boolean expired = false;
+        for (int i = 0; i < EVICTION_SAMPLE && iterator.hasNext(); i++) {
+            Map.Entry<String, Entry> candidate = iterator.next();
+            if (candidate.getValue().expiresAtMillis() <= nowMillis) {
+                iterator.remove();
+                expired = true;
+            } else if (oldest == null || candidate.getValue().expiresAtMillis() < oldest.getValue().expiresAtMillis()) {
+                oldest = candidate;
+            }
+        }
+        if (!expired && oldest != null) {
+            entries.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.contact.service;
+
+import com.example.contact.jfr.MailSendEvent;
+import com.example.contact.model.EmailOutbox;
+import com.example.contact.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expédie les emails de l'outbox par lots.
+ *
+ * Chaque lot est réservé (SKIP LOCKED), envoyé sur une seule connexion SMTP
+ * (JavaMailSender#send(MimeMessage...) ne se connecte qu'une fois), puis marqué
+ * dans la même transaction. Les échecs sont reprogrammés avec un backoff
+ * exponentiel ; au-delà de max-attempts le message passe à l'état DEAD.
+ */
+@Service
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    // JavaMail synchronise la conversation SMTP (Transport#connect, sendMessage) :
+    // sur un thread virtuel elle épinglerait le thread porteur. Les envois passent
+    // donc par un thread plateforme dédié, quel que soit le mode d'exécution.
+    private final ExecutorService transportExecutor;
+
+    // Une conversation SMTP par lot : durée et issue, puis sort de chaque message
+    private final Timer sendSucceeded;
+    private final Timer sendFailed;
+    private final Counter messagesSent;
+    private final Counter messagesRetried;
+    private final Counter messagesDead;
+
+    @Value("${spring.mail.username:noreply@example.com}")
+    private String fromEmail;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository outboxRepository,
+            JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+            @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${app.mail.outbox.max-backoff:1h}") Duration maxBackoff,
+            @Value("${app.mail.outbox.retention:7d}") Duration retention,
+            MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+        // File d'attente du thread d'envoi : executor.queued{name="mail.transport"}
+        this.transportExecutor = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newSingleThreadExecutor(Thread.ofPlatform().name("mail-transport").factory()),
+                "mail.transport");
+        this.sendSucceeded = meterRegistry.timer("mail.send", "outcome", "success");
+        this.sendFailed = meterRegistry.timer("mail.send", "outcome", "failure");
+        this.messagesSent = meterRegistry.counter("mail.messages", "result", "sent");
+        this.messagesRetried = meterRegistry.counter("mail.messages", "result", "retry");
+        this.messagesDead = meterRegistry.counter("mail.messages", "result", "dead");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        transportExecutor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:2000}")
+    public void dispatchPending() {
+        // Enchaîner les lots tant que la file en contient des complets
+        Integer claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> dispatchBatch());
+        } while (claimed != null && claimed == batchSize);
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 0 3 * * *}")
+    public void purgeSent() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxRepository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            log.info("{} emails envoyés purgés de l'outbox", purged);
+        }
+    }
+
+    private int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = outboxRepository.claimBatch(now, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (EmailOutbox entry : batch) {
+            try {
+                messages.put(toMimeMessage(entry), entry);
+            } catch (MessagingException e) {
+                // Message impossible à construire : inutile de réessayer
+                markDead(entry, e);
+            }
+        }
+
+        MailSendEvent event = new MailSendEvent();
+        event.begin();
+        long started = System.nanoTime();
+        Map<Object, Exception> failures = send(messages);
+        if (!messages.isEmpty()) {
+            (failures.isEmpty() ? sendSucceeded : sendFailed).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            event.complete(messages.size(), failures.size(),
+                    failures.values().stream().findFirst().orElse(null));
+        }
+
+        int sent = 0;
+        for (Map.Entry<MimeMessage, EmailOutbox> message : messages.entrySet()) {
+            Exception failure = failures.get(message.getKey());
+            if (failure == null) {
+                message.getValue().setStatus(EmailOutbox.OutboxStatus.SENT);
+                message.getValue().setSentAt(now);
+                messagesSent.increment();
+                sent++;
+            } else {
+                markFailed(message.getValue(), failure, now);
+            }
+        }
+
+        log.info("Outbox: {} emails envoyés, {} en échec", sent, batch.size() - sent);
+        return batch.size();
+    }
+
+    private Map<Object, Exception> send(Map<MimeMessage, EmailOutbox> messages) {
+        if (messages.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            MimeMessage[] batch = messages.keySet().toArray(new MimeMessage[0]);
+            transportExecutor.submit(() -> mailSender.send(batch)).get();
+            return Collections.emptyMap();
+        } catch (ExecutionException e) {
+            return failuresOf(messages, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return allFailed(messages, e);
+        }
+    }
+
+    private Map<Object, Exception> failuresOf(Map<MimeMessage, EmailOutbox> messages, Throwable cause) {
+        if (cause instanceof MailSendException e) {
+            // Échec partiel : seuls les messages listés ont échoué
+            if (!e.getFailedMessages().isEmpty()) {
+                return e.getFailedMessages();
+            }
+            return allFailed(messages, e);
+        }
+        if (cause instanceof Exception e) {
+            return allFailed(messages, e);
+        }
+        throw (Error) cause;
+    }
+
+    private Map<Object, Exception> allFailed(Map<MimeMessage, EmailOutbox> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox entry) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(entry.getRecipient());
+        helper.setSubject(entry.getSubject());
+        helper.setText(entry.getBody());
+        return message;
+    }
+
+    private void markFailed(EmailOutbox entry, Exception e, LocalDateTime now) {
+        entry.setAttempts(entry.getAttempts() + 1);
+        if (entry.getAttempts() >= maxAttempts) {
+            markDead(entry, e);
+            return;
+        }
+        messagesRetried.increment();
+        entry.setLastError(truncate(e.getMessage()));
+        entry.setNextAttemptAt(now.plus(backoff(entry.getAttempts())));
+        log.warn("Échec d'envoi à {} (tentative {}/{}): {}",
+                entry.getRecipient(), entry.getAttempts(), maxAttempts, e.getMessage());
+    }
+
+    private void markDead(EmailOutbox entry, Exception e) {
+        entry.setStatus(EmailOutbox.OutboxStatus.DEAD);
+        messagesDead.increment();
+        entry.setLastError(truncate(e.getMessage()));
+        log.error("Email {} pour {} abandonné: {}", entry.getId(), entry.getRecipient(), e.getMessage());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.contact.service;
+
+import com.example.contact.config.ConcurrencyLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contrôle d'admission global des soumissions du formulaire de contact.
+ *
+ * Une soumission est refusée (503) si trop de soumissions sont déjà en cours, si la
+ * file d'intake (mode batch) est presque pleine, ou si trop de threads attendent une
+ * connexion à la base. Refuser tôt coûte moins cher que laisser les requêtes
+ * s'accumuler jusqu'aux délais d'expiration.
+ */
+@Component
+@Slf4j
+public class IntakeLoadShedder {
+
+    private final LeadIntakeService leadIntakeService;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final double queueThreshold;
+    private final int maxAwaitingConnections;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder shed = new LongAdder();
+
+    private volatile HikariPoolMXBean pool;
+    private volatile ConcurrencyLimitingDataSource limiter;
+    private volatile boolean poolResolved;
+
+    public IntakeLoadShedder(LeadIntakeService leadIntakeService,
+                             DataSource dataSource,
+                             @Value("${app.admission.enabled:true}") boolean enabled,
+                             @Value("${app.admission.max-in-flight:200}") int maxInFlight,
+                             @Value("${app.admission.queue-threshold:0.9}") double queueThreshold,
+                             @Value("${app.admission.max-awaiting-connections:50}") int maxAwaitingConnections) {
+        this.leadIntakeService = leadIntakeService;
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.queueThreshold = queueThreshold;
+        this.maxAwaitingConnections = maxAwaitingConnections;
+    }
+
+    /**
+     * Réserve une place pour une soumission. Si la méthode renvoie true, l'appelant
+     * doit appeler {@link #release()} à la fin du traitement.
+     */
+    public boolean tryAdmit() {
+        if (!enabled) {
+            return true;
+        }
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            return reject("soumissions en cours");
+        }
+        if (isIntakeQueueSaturated()) {
+            return reject("file d'intake");
+        }
+        if (getAwaitingConnections() >= maxAwaitingConnections) {
+            return reject("pool de connexions");
+        }
+        return true;
+    }
+
+    public void release() {
+        if (enabled) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    private boolean reject(String reason) {
+        inFlight.decrementAndGet();
+        shed.increment();
+        log.debug("Soumission refusée (saturation: {})", reason);
+        return false;
+    }
+
+    private boolean isIntakeQueueSaturated() {
+        if (!leadIntakeService.isBatchMode()) {
+            return false;
+        }
+        int size = leadIntakeService.getQueueSize();
+        int capacity = size + leadIntakeService.getQueueRemainingCapacity();
+        return size >= capacity * queueThreshold;
+    }
+
+    private int getAwaitingConnections() {
+        resolvePool();
+        int awaiting = 0;
+        HikariPoolMXBean hikari = pool;
+        if (hikari != null) {
+            awaiting += hikari.getThreadsAwaitingConnection();
+        }
+        ConcurrencyLimitingDataSource semaphore = limiter;
+        if (semaphore != null) {
+            awaiting += semaphore.getQueueLength();
+        }
+        return awaiting;
+    }
+
+    // Le MXBean Hikari n'existe qu'une fois le pool démarré (première connexion)
+    private void resolvePool() {
+        if (poolResolved) {
+            return;
+        }
+        try {
+            if (dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class)) {
+                limiter = dataSource.unwrap(ConcurrencyLimitingDataSource.class);
+            }
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                poolResolved = pool != null;
+            } else {
+                poolResolved = true;
+            }
+        } catch (SQLException e) {
+            poolResolved = true;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.contact.service;
+
+import com.example.contact.model.Lead;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Insertion en masse de leads hors JPA, dans la transaction courante.
+ *
+ * PostgreSQL : COPY FROM STDIN (un seul aller-retour par lot). Autres bases (H2) :
+ * INSERT en batch JDBC. Les identifiants sont tirés de la séquence leads_seq par
+ * blocs de 50, comme Hibernate (PooledSequence) : une valeur de séquence par tranche
+ * de 50 lignes, sans collision avec les identifiants attribués par JPA.
+ */
+@Component
+@Slf4j
+class LeadBatchWriter {
+
+    private static final String COLUMNS =
+            "id, full_name, company, email, phone, request_type, message, status, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    // allocationSize de Lead
+    private final PooledSequence leadIds;
+    private volatile Boolean postgres;
+
+    LeadBatchWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.leadIds = new PooledSequence(jdbcTemplate, "leads_seq", 50);
+    }
+
+    void insert(List<Lead> leads) {
+        if (leads.isEmpty()) {
+            return;
+        }
+        List<Long> ids = leadIds.next(leads.size());
+        for (int i = 0; i < leads.size(); i++) {
+            leads.get(i).setId(ids.get(i));
+        }
+        if (isPostgres()) {
+            copy(leads);
+        } else {
+            batchInsert(leads);
+        }
+    }
+
+    private void copy(List<Lead> leads) {
+        StringBuilder csv = new StringBuilder(leads.size() * 256);
+        for (Lead lead : leads) {
+            csv.append(lead.getId()).append(',');
+            appendCsv(csv, lead.getFullName()).append(',');
+            appendCsv(csv, lead.getCompany()).append(',');
+            appendCsv(csv, lead.getEmail()).append(',');
+            appendCsv(csv, lead.getPhone()).append(',');
+            csv.append(lead.getRequestType().name()).append(',');
+            appendCsv(csv, lead.getMessage()).append(',');
+            csv.append(lead.getStatus().name()).append(',');
+            appendCsv(csv, timestamp(lead.getCreatedAt())).append(',');
+            appendCsv(csv, timestamp(lead.getUpdatedAt())).append('\n');
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                        "COPY leads (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)",
+                        new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("Échec du COPY des leads", e);
+            }
+        });
+    }
+
+    private void batchInsert(List<Lead> leads) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO leads (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Lead lead = leads.get(i);
+                        ps.setLong(1, lead.getId());
+                        ps.setString(2, lead.getFullName());
+                        ps.setString(3, lead.getCompany());
+                        ps.setString(4, lead.getEmail());
+                        ps.setString(5, lead.getPhone());
+                        ps.setString(6, lead.getRequestType().name());
+                        ps.setString(7, lead.getMessage());
+                        ps.setString(8, lead.getStatus().name());
+                        ps.setTimestamp(9, Timestamp.valueOf(lead.getCreatedAt()));
+                        if (lead.getUpdatedAt() != null) {
+                            ps.setTimestamp(10, Timestamp.valueOf(lead.getUpdatedAt()));
+                        } else {
+                            ps.setNull(10, Types.TIMESTAMP);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return leads.size();
+                    }
+                });
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            postgres = result;
+            log.debug("Écriture en masse des leads via {}", result ? "COPY" : "INSERT en batch");
+        }
+        return result;
+    }
+
+    // Champ CSV pour COPY : vide (sans guillemets) = NULL, chaîne toujours entre guillemets
+    private static StringBuilder appendCsv(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+
+    private static String timestamp(LocalDateTime value) {
+        return value != null ? value.toString() : null;
+    }
+}
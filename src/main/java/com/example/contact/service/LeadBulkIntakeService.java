@@ -0,0 +1,293 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.dto.response.LeadDto;
+import com.example.contact.jfr.LeadIntakeEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Soumission groupée de formulaires de contact au format NDJSON (un objet JSON par ligne).
+ *
+ * Le corps est lu ligne par ligne et la réponse écrite au fil de l'eau : chaque ligne
+ * est validée (mêmes contraintes que POST /api/contact), les lignes valides sont
+ * persistées par lots (une transaction et des INSERT en batch JDBC par lot) et un
+ * résultat NDJSON est renvoyé pour chaque ligne. La mémoire utilisée est bornée par
+ * la taille d'un lot et max-record-size, quel que soit le nombre ou la longueur des
+ * lignes envoyées : une ligne plus longue est rejetée (FAILED) sans être conservée.
+ */
+@Service
+@Slf4j
+public class LeadBulkIntakeService {
+
+    private final LeadService leadService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final int batchSize;
+    private final int maxRecords;
+    private final int maxRecordSize;
+
+    public LeadBulkIntakeService(LeadService leadService,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.bulk.batch-size:500}") int batchSize,
+                                 @Value("${app.bulk.max-records:200000}") int maxRecords,
+                                 @Value("${app.bulk.max-record-size:1MB}") DataSize maxRecordSize) {
+        this.leadService = leadService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(ContactFormRequest.class);
+        this.batchSize = batchSize;
+        this.maxRecords = maxRecords;
+        this.maxRecordSize = (int) maxRecordSize.toBytes();
+    }
+
+    /**
+     * @param notify envoyer les emails de notification et de confirmation pour chaque lead
+     */
+    public void ingest(InputStream in, OutputStream out, boolean notify) throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(in, maxRecordSize);
+        JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        generator.setRootValueSeparator(null);
+
+        Counters counters = new Counters();
+        List<PendingRecord> batch = new ArrayList<>(batchSize);
+        int lineNumber = 0;
+        while (reader.next()) {
+            lineNumber++;
+            if (reader.isBlank()) {
+                continue;
+            }
+            if (counters.received == maxRecords) {
+                writeFailure(generator, lineNumber, "Nombre maximal d'enregistrements atteint (" + maxRecords + ")");
+                counters.rejected++;
+                break;
+            }
+            counters.received++;
+            if (reader.isTruncated()) {
+                writeFailure(generator, lineNumber, "Enregistrement de plus de " + maxRecordSize + " octets");
+                counters.rejected++;
+                continue;
+            }
+
+            ContactFormRequest request;
+            try {
+                request = requestReader.readValue(reader.buffer(), 0, reader.length());
+            } catch (JsonProcessingException e) {
+                writeInvalid(generator, lineNumber, Map.of("json", "JSON invalide"));
+                counters.rejected++;
+                continue;
+            }
+
+            Set<ConstraintViolation<ContactFormRequest>> violations = LeadIntakeEvent.record(
+                    LeadIntakeEvent.VALIDATION, request.getRequestType(), 1, () -> validator.validate(request));
+            if (!violations.isEmpty()) {
+                Map<String, String> errors = new TreeMap<>();
+                violations.forEach(v -> errors.put(v.getPropertyPath().toString(), v.getMessage()));
+                writeInvalid(generator, lineNumber, errors);
+                counters.rejected++;
+                continue;
+            }
+
+            batch.add(new PendingRecord(lineNumber, request));
+            if (batch.size() == batchSize) {
+                persist(batch, notify, generator, counters);
+            }
+        }
+        if (!batch.isEmpty()) {
+            persist(batch, notify, generator, counters);
+        }
+
+        generator.writeStartObject();
+        generator.writeNumberField("received", counters.received);
+        generator.writeNumberField("created", counters.created);
+        generator.writeNumberField("rejected", counters.rejected);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        generator.flush();
+
+        log.info("Soumission groupée terminée: {} reçus, {} créés, {} rejetés",
+                counters.received, counters.created, counters.rejected);
+    }
+
+    private void persist(List<PendingRecord> batch, boolean notify, JsonGenerator generator, Counters counters)
+            throws IOException {
+        try {
+            List<LeadDto> saved = leadService.createLeads(batch.stream().map(PendingRecord::request).toList(), notify);
+            for (int i = 0; i < batch.size(); i++) {
+                writeCreated(generator, batch.get(i).lineNumber(), saved.get(i).getId());
+            }
+            counters.created += saved.size();
+        } catch (RuntimeException e) {
+            // Lot en échec : on rejoue chaque enregistrement pour isoler le fautif
+            log.warn("Échec d'un lot de {} leads, repli en insertion unitaire: {}", batch.size(), e.getMessage());
+            for (PendingRecord record : batch) {
+                try {
+                    LeadDto lead = leadService.createLeads(List.of(record.request()), notify).get(0);
+                    writeCreated(generator, record.lineNumber(), lead.getId());
+                    counters.created++;
+                } catch (RuntimeException single) {
+                    writeFailure(generator, record.lineNumber(), "Enregistrement impossible");
+                    counters.rejected++;
+                }
+            }
+        }
+        batch.clear();
+        // Résultats du lot envoyés au client sans attendre la fin du flux
+        generator.flush();
+    }
+
+    private static void writeCreated(JsonGenerator generator, int lineNumber, Long id) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("line", lineNumber);
+        generator.writeStringField("status", "CREATED");
+        generator.writeNumberField("id", id);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeInvalid(JsonGenerator generator, int lineNumber, Map<String, String> errors)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("line", lineNumber);
+        generator.writeStringField("status", "INVALID");
+        generator.writeObjectFieldStart("errors");
+        for (Map.Entry<String, String> error : errors.entrySet()) {
+            generator.writeStringField(error.getKey(), error.getValue());
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeFailure(JsonGenerator generator, int lineNumber, String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("line", lineNumber);
+        generator.writeStringField("status", "FAILED");
+        generator.writeStringField("error", message);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private record PendingRecord(int lineNumber, ContactFormRequest request) {
+    }
+
+    /**
+     * Lignes (séparateur \n, \r final retiré) lues en octets UTF-8 dans un tampon
+     * réutilisé d'au plus maxLength octets. Au-delà, la fin de la ligne est lue et
+     * ignorée jusqu'au saut de ligne suivant.
+     */
+    static final class BoundedLineReader {
+
+        private final InputStream in;
+        private final int maxLength;
+        private final byte[] chunk = new byte[8192];
+        private int position;
+        private int limit;
+        private byte[] line = new byte[1024];
+        private int length;
+        private boolean truncated;
+
+        BoundedLineReader(InputStream in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return false en fin de flux
+         */
+        boolean next() throws IOException {
+            length = 0;
+            truncated = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = Math.max(in.read(chunk), 0);
+                    position = 0;
+                    if (limit == 0) {
+                        return read;
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && chunk[position] != '\n') {
+                    position++;
+                }
+                append(start, position - start);
+                if (position < limit) {
+                    position++;
+                    if (!truncated && length > 0 && line[length - 1] == '\r') {
+                        length--;
+                    }
+                    return true;
+                }
+            }
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        boolean isBlank() {
+            for (int i = 0; i < length; i++) {
+                if (line[i] != ' ' && line[i] != '\t' && line[i] != '\r') {
+                    return false;
+                }
+            }
+            return !truncated;
+        }
+
+        byte[] buffer() {
+            return line;
+        }
+
+        int length() {
+            return length;
+        }
+
+        private void append(int start, int count) {
+            if (truncated) {
+                return;
+            }
+            if (length + count > maxLength) {
+                truncated = true;
+                length = 0;
+                return;
+            }
+            if (length + count > line.length) {
+                line = Arrays.copyOf(line, Math.min(maxLength, Math.max(line.length * 2, length + count)));
+            }
+            System.arraycopy(chunk, start, line, length, count);
+            length += count;
+        }
+    }
+
+    private static class Counters {
+        long received;
+        long created;
+        long rejected;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.request.LeadFilterRequest;
+import com.example.contact.event.LeadDeletedEvent;
+import com.example.contact.event.LeadStatusChangedEvent;
+import com.example.contact.event.LeadsDeletedEvent;
+import com.example.contact.event.LeadsStatusChangedEvent;
+import com.example.contact.exception.BadRequestException;
+import com.example.contact.model.Lead;
+import com.example.contact.repository.LeadFilter;
+import com.example.contact.repository.LeadRepository;
+import com.example.contact.repository.LeadStatusUpdate;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Changements de statut et suppressions groupés (par liste d'identifiants ou par filtre).
+ *
+ * La sélection est parcourue par lots de chunk-size identifiants (pagination keyset
+ * sur l'id pour un filtre). Chaque lot est appliqué en une instruction SQL dans sa
+ * propre transaction, puis un seul événement est publié pour le lot : statistiques,
+ * rollups et flux temps réel sont mis à jour une fois par lot et non par lead. La
+ * progression est renvoyée en NDJSON après chaque lot.
+ */
+@Service
+@Slf4j
+public class LeadBulkService {
+
+    private final LeadRepository leadRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxIds;
+
+    public LeadBulkService(LeadRepository leadRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           @Value("${app.bulk.chunk-size:1000}") int chunkSize,
+                           @Value("${app.bulk.max-ids:100000}") int maxIds) {
+        this.leadRepository = leadRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * Vérifie la sélection avant de commencer à répondre (erreur 400 classique)
+     */
+    public Selection select(List<Long> ids, LeadFilterRequest filter) {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        if (hasIds == (filter != null)) {
+            throw new BadRequestException("Indiquez soit une liste d'identifiants, soit un filtre");
+        }
+        if (hasIds) {
+            if (ids.size() > maxIds) {
+                throw new BadRequestException("Au plus " + maxIds + " identifiants par requête");
+            }
+            return new Selection(ids.stream().filter(id -> id != null).distinct().sorted().toList(), null);
+        }
+        LeadFilter leadFilter = new LeadFilter(filter.getStatus(), filter.getRequestType(), filter.getCreatedBefore());
+        if (leadFilter.isEmpty()) {
+            throw new BadRequestException("Le filtre doit comporter au moins un critère");
+        }
+        return new Selection(null, leadFilter);
+    }
+
+    public void updateStatus(Selection selection, Lead.LeadStatus status, OutputStream out) throws IOException {
+        run("Changement de statut groupé → " + status, selection, out, ids -> {
+            List<LeadStatusUpdate> updates = leadRepository.updateStatusBulk(
+                    ids, status, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+            if (!updates.isEmpty()) {
+                eventPublisher.publishEvent(new LeadsStatusChangedEvent(updates.stream()
+                        .map(update -> new LeadStatusChangedEvent(
+                                update.lead().getId(), update.lead().getRequestType(), update.lead().getCreatedAt(),
+                                update.previousStatus(), status))
+                        .toList()));
+            }
+            return updates.size();
+        });
+    }
+
+    public void delete(Selection selection, OutputStream out) throws IOException {
+        run("Suppression groupée", selection, out, ids -> {
+            List<Lead> deleted = leadRepository.deleteBulk(ids);
+            if (!deleted.isEmpty()) {
+                eventPublisher.publishEvent(new LeadsDeletedEvent(deleted.stream()
+                        .map(lead -> new LeadDeletedEvent(
+                                lead.getId(), lead.getRequestType(), lead.getCreatedAt(), lead.getStatus(),
+                                lead.getFullName(), lead.getCompany(), lead.getEmail()))
+                        .toList()));
+            }
+            return deleted.size();
+        });
+    }
+
+    private void run(String label, Selection selection, OutputStream out, Function<List<Long>, Integer> chunkOperation)
+            throws IOException {
+        long started = System.nanoTime();
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+
+        long selected = 0;
+        long affected = 0;
+        long lastId = 0;
+        int offset = 0;
+        while (true) {
+            List<Long> ids;
+            if (selection.ids() != null) {
+                if (offset >= selection.ids().size()) {
+                    break;
+                }
+                ids = selection.ids().subList(offset, Math.min(offset + chunkSize, selection.ids().size()));
+                offset += ids.size();
+            } else {
+                ids = leadRepository.findIdsAfter(selection.filter(), lastId, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                lastId = ids.get(ids.size() - 1);
+            }
+
+            // Une transaction par lot : un échec n'annule que le lot en cours
+            List<Long> chunk = ids;
+            Integer changed = transactionTemplate.execute(tx -> chunkOperation.apply(chunk));
+            selected += ids.size();
+            affected += changed != null ? changed : 0;
+
+            generator.writeStartObject();
+            generator.writeNumberField("processed", selected);
+            if (selection.ids() != null) {
+                generator.writeNumberField("total", selection.ids().size());
+            }
+            generator.writeNumberField("affected", affected);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        generator.writeStartObject();
+        generator.writeBooleanField("done", true);
+        generator.writeNumberField("processed", selected);
+        generator.writeNumberField("affected", affected);
+        generator.writeNumberField("durationMs", durationMs);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        generator.flush();
+
+        log.info("{}: {} leads sélectionnés, {} modifiés en {} ms", label, selected, affected, durationMs);
+    }
+
+    /**
+     * Leads visés : identifiants triés et dédoublonnés, ou filtre
+     */
+    public record Selection(List<Long> ids, LeadFilter filter) {
+    }
+}
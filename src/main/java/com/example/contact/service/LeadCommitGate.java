@@ -0,0 +1,93 @@
+package com.example.contact.service;
+
+import com.example.contact.event.LeadCreatedEvent;
+import com.example.contact.event.LeadDeletedEvent;
+import com.example.contact.event.LeadStatusChangedEvent;
+import com.example.contact.event.LeadsDeletedEvent;
+import com.example.contact.event.LeadsImportedEvent;
+import com.example.contact.event.LeadsStatusChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Synchronise les écritures de leads avec les réconciliations des états tenus en
+ * mémoire (LeadStatsEngine, LeadRollupService).
+ *
+ * Une transaction qui publie un événement de lead prend le verrou partagé juste
+ * avant son commit et le rend après ses écouteurs AFTER_COMMIT. Une réconciliation
+ * prend le verrou exclusif le temps de figer son instantané de la base et de
+ * copier l'état en mémoire : à cet instant, toute écriture commitée a été appliquée
+ * par les écouteurs et aucune n'est en cours de commit. La comparaison (requêtes
+ * GROUP BY) s'exécute ensuite hors verrou, dans le même instantané.
+ */
+@Component
+public class LeadCommitGate {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(true);
+    private final TransactionTemplate snapshotTransaction;
+
+    public LeadCommitGate(PlatformTransactionManager transactionManager) {
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, classes = {
+            LeadCreatedEvent.class, LeadStatusChangedEvent.class, LeadDeletedEvent.class,
+            LeadsImportedEvent.class, LeadsStatusChangedEvent.class, LeadsDeletedEvent.class})
+    public void beforeCommit() {
+        // Une seule prise par transaction, quel que soit le nombre d'événements
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        lock.readLock().lock();
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        // Enregistrée après les écouteurs de la transaction, à la même priorité :
+        // afterCompletion s'exécute après eux
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(LeadCommitGate.this);
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Exécute une réconciliation dans une transaction REPEATABLE READ en lecture seule.
+     *
+     * @param capture exécuté sous verrou exclusif, connexion déjà acquise : doit lire
+     *                chaque table comparée (lecture par clé) pour figer l'instantané
+     *                (PostgreSQL : à la première requête ; H2 : à la première lecture
+     *                de chaque table) et copier l'état en mémoire
+     * @param compare exécuté hors verrou, dans le même instantané
+     */
+    public <T, R> R reconcile(Supplier<T> capture, Function<T, R> compare) {
+        return snapshotTransaction.execute(status -> {
+            T captured;
+            lock.writeLock().lock();
+            try {
+                captured = capture.get();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return compare.apply(captured);
+        });
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.contact.service;
+
+import com.example.contact.exception.BadRequestException;
+import com.example.contact.model.Lead;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Analyse CSV (RFC 4180, UTF-8) des fichiers d'import de leads.
+ *
+ * Travaille directement sur les octets : les séparateurs sont ASCII, seuls les
+ * champs sont décodés. Sans état une fois l'en-tête lu, une même instance analyse
+ * plusieurs morceaux du fichier en parallèle.
+ */
+final class LeadCsvParser {
+
+    private static final int MAX_REPORTED_ERRORS = 5;
+    private static final byte QUOTE = '"';
+    private static final byte COMMA = ',';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    enum Column {
+        FULL_NAME("fullname", true),
+        COMPANY("company", false),
+        EMAIL("email", true),
+        PHONE("phone", false),
+        REQUEST_TYPE("requesttype", false),
+        MESSAGE("message", true),
+        STATUS("status", false),
+        CREATED_AT("createdat", false),
+        UPDATED_AT("updatedat", false);
+
+        private final String header;
+        private final boolean required;
+
+        Column(String header, boolean required) {
+            this.header = header;
+            this.required = required;
+        }
+    }
+
+    private final int[] indexes = new int[Column.values().length];
+
+    /**
+     * @param header noms de colonnes ("fullName" ou "full_name", casse indifférente ;
+     *               les colonnes inconnues comme "id" sont ignorées)
+     */
+    LeadCsvParser(List<String> header) {
+        Arrays.fill(indexes, -1);
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+            for (Column column : Column.values()) {
+                if (column.header.equals(name)) {
+                    indexes[column.ordinal()] = i;
+                }
+            }
+        }
+        for (Column column : Column.values()) {
+            if (column.required && indexes[column.ordinal()] < 0) {
+                throw new BadRequestException("Colonne obligatoire absente du fichier: " + column.header);
+            }
+        }
+    }
+
+    /**
+     * Analyse un morceau du fichier commençant et finissant sur une limite d'enregistrement
+     *
+     * @param baseOffset position du morceau dans le fichier (pour les messages d'erreur)
+     */
+    ParsedChunk parse(byte[] data, long baseOffset, LocalDateTime importTime) {
+        List<Lead> leads = new ArrayList<>(data.length / 200 + 1);
+        List<String> errors = new ArrayList<>(MAX_REPORTED_ERRORS);
+        int rejected = 0;
+        List<String> fields = new ArrayList<>(indexes.length);
+        int pos = 0;
+        while (pos < data.length) {
+            int start = pos;
+            pos = nextRecord(data, pos, fields);
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue; // ligne vide
+            }
+            try {
+                leads.add(toLead(fields, importTime));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                rejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("octet " + (baseOffset + start) + ": " + e.getMessage());
+                }
+            }
+        }
+        return new ParsedChunk(leads, rejected, errors);
+    }
+
+    /**
+     * Lit un enregistrement à partir de pos
+     *
+     * @return la position du début de l'enregistrement suivant
+     */
+    static int nextRecord(byte[] data, int pos, List<String> fields) {
+        fields.clear();
+        int length = data.length;
+        while (true) {
+            if (pos < length && data[pos] == QUOTE) {
+                // Champ entre guillemets : "" représente un guillemet
+                StringBuilder value = new StringBuilder();
+                int segment = ++pos;
+                while (pos < length) {
+                    if (data[pos] == QUOTE) {
+                        value.append(new String(data, segment, pos - segment, StandardCharsets.UTF_8));
+                        if (pos + 1 < length && data[pos + 1] == QUOTE) {
+                            value.append('"');
+                            pos += 2;
+                            segment = pos;
+                            continue;
+                        }
+                        pos++;
+                        break;
+                    }
+                    pos++;
+                }
+                fields.add(value.toString());
+                // Ignorer ce qui suit le guillemet fermant jusqu'au séparateur
+                while (pos < length && data[pos] != COMMA && data[pos] != LF) {
+                    pos++;
+                }
+            } else {
+                int start = pos;
+                while (pos < length && data[pos] != COMMA && data[pos] != LF) {
+                    pos++;
+                }
+                int end = pos > start && data[pos - 1] == CR ? pos - 1 : pos;
+                fields.add(new String(data, start, end - start, StandardCharsets.UTF_8));
+            }
+            if (pos >= length) {
+                return length;
+            }
+            if (data[pos] == LF) {
+                return pos + 1;
+            }
+            pos++; // virgule
+        }
+    }
+
+    /**
+     * Cherche la fin du premier enregistrement se terminant après target
+     *
+     * @return la position suivant le saut de ligne, ou -1 si elle n'est pas dans le tampon
+     */
+    static int recordBoundaryAfter(ByteBuffer buffer, int target) {
+        boolean quoted = false;
+        int limit = buffer.limit();
+        for (int i = 0; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == QUOTE) {
+                quoted = !quoted;
+            } else if (b == LF && !quoted && i >= target) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private Lead toLead(List<String> fields, LocalDateTime importTime) {
+        String fullName = required(fields, Column.FULL_NAME);
+        if (fullName.length() > 100) {
+            throw new IllegalArgumentException("nom trop long");
+        }
+        String email = required(fields, Column.EMAIL);
+        if (email.indexOf('@') < 1 || email.length() > 255) {
+            throw new IllegalArgumentException("email invalide");
+        }
+        String requestType = value(fields, Column.REQUEST_TYPE);
+        String status = value(fields, Column.STATUS);
+        String createdAt = value(fields, Column.CREATED_AT);
+        String updatedAt = value(fields, Column.UPDATED_AT);
+
+        return Lead.builder()
+                .fullName(fullName)
+                .company(limited(value(fields, Column.COMPANY), "entreprise"))
+                .email(email)
+                .phone(limited(value(fields, Column.PHONE), "téléphone"))
+                .requestType(requestType != null
+                        ? Lead.RequestType.valueOf(requestType.toUpperCase(Locale.ROOT))
+                        : Lead.RequestType.OTHER)
+                .message(required(fields, Column.MESSAGE))
+                .status(status != null
+                        ? Lead.LeadStatus.valueOf(status.toUpperCase(Locale.ROOT))
+                        : Lead.LeadStatus.NEW)
+                .createdAt(createdAt != null ? parseDateTime(createdAt) : importTime)
+                .updatedAt(updatedAt != null ? parseDateTime(updatedAt) : null)
+                .build();
+    }
+
+    private String value(List<String> fields, Column column) {
+        int index = indexes[column.ordinal()];
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private String required(List<String> fields, Column column) {
+        String value = value(fields, column);
+        if (value == null) {
+            throw new IllegalArgumentException("champ " + column.header + " vide");
+        }
+        return value;
+    }
+
+    private static String limited(String value, String label) {
+        if (value != null && value.length() > 255) {
+            throw new IllegalArgumentException(label + " trop long");
+        }
+        return value;
+    }
+
+    // ISO 8601 (avec ou sans fuseau), "yyyy-MM-dd HH:mm:ss" ou date seule
+    private static LocalDateTime parseDateTime(String value) {
+        String iso = value.replace(' ', 'T');
+        if (iso.length() == 10) {
+            return LocalDate.parse(iso).atStartOfDay();
+        }
+        try {
+            return LocalDateTime.parse(iso);
+        } catch (DateTimeParseException e) {
+            return OffsetDateTime.parse(iso).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+    }
+
+    record ParsedChunk(List<Lead> leads, int rejected, List<String> errors) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.response.LeadSummaryDto;
+import com.example.contact.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position dans la liste des leads triée par (createdAt DESC, id DESC),
+ * échangée avec le client sous forme de chaîne opaque (Base64 URL).
+ */
+public record LeadCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static LeadCursor of(LeadSummaryDto lead) {
+        return new LeadCursor(lead.getCreatedAt(), lead.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static LeadCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new LeadCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Curseur invalide");
+        }
+    }
+}
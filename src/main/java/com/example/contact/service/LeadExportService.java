@@ -0,0 +1,224 @@
+package com.example.contact.service;
+
+import com.example.contact.model.Lead;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Export des leads en flux (NDJSON ou CSV).
+ *
+ * Les lignes sont lues par un curseur JDBC en avant seulement (fetch size borné,
+ * transaction en lecture seule pour que PostgreSQL utilise un vrai curseur) et
+ * écrites une à une dans la réponse : la mémoire utilisée ne dépend pas du
+ * nombre de leads exportés.
+ */
+@Service
+@Slf4j
+public class LeadExportService {
+
+    private static final String COLUMNS =
+            "id, full_name, company, email, phone, request_type, message, status, created_at, updated_at";
+
+    private static final String[] CSV_HEADER = {
+            "id", "fullName", "company", "email", "phone", "requestType", "message", "status", "createdAt", "updatedAt"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public LeadExportService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    public void export(Format format,
+                       Lead.LeadStatus status,
+                       LocalDateTime from,
+                       LocalDateTime to,
+                       OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM leads WHERE 1 = 1");
+        List<Object> args = new ArrayList<>(3);
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        long[] exported = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(tx ->
+                    jdbcTemplate.query(sql.toString(), rs -> {
+                        try {
+                            rowWriter.write(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        exported[0]++;
+                    }, args.toArray()));
+        } catch (UncheckedIOException e) {
+            // Client déconnecté en cours d'export
+            throw e.getCause();
+        }
+        rowWriter.close();
+
+        log.info("Export {} terminé: {} leads", format, exported[0]);
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void close() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            // Un objet JSON par ligne, sans séparateur supplémentaire entre objets racine
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("fullName", rs.getString("full_name"));
+            generator.writeStringField("company", rs.getString("company"));
+            generator.writeStringField("email", rs.getString("email"));
+            generator.writeStringField("phone", rs.getString("phone"));
+            generator.writeStringField("requestType", rs.getString("request_type"));
+            generator.writeStringField("message", rs.getString("message"));
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeStringField("createdAt", timestamp(rs, "created_at"));
+            generator.writeStringField("updatedAt", timestamp(rs, "updated_at"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writeLine(CSV_HEADER);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writeLine(new String[]{
+                    Long.toString(rs.getLong("id")),
+                    rs.getString("full_name"),
+                    rs.getString("company"),
+                    rs.getString("email"),
+                    rs.getString("phone"),
+                    rs.getString("request_type"),
+                    rs.getString("message"),
+                    rs.getString("status"),
+                    timestamp(rs, "created_at"),
+                    timestamp(rs, "updated_at")
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(String[] fields) throws IOException {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(fields[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180 : guillemets si le champ contient un séparateur, un guillemet ou un saut de ligne.
+        // Un champ qui commencerait par =, +, -, @ (ou tabulation, retour chariot) serait
+        // interprété comme une formule par un tableur : préfixé d'une apostrophe (OWASP)
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (isFormula(value)) {
+                value = "'" + value;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private static boolean isFormula(String value) {
+            if (value.isEmpty()) {
+                return false;
+            }
+            char first = value.charAt(0);
+            return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        }
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime().toString() : null;
+    }
+}
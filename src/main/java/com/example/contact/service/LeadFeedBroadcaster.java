@@ -0,0 +1,411 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.response.LeadFeedEventDto;
+import com.example.contact.event.LeadCreatedEvent;
+import com.example.contact.event.LeadDeletedEvent;
+import com.example.contact.event.LeadStatusChangedEvent;
+import com.example.contact.event.LeadsDeletedEvent;
+import com.example.contact.event.LeadsStatusChangedEvent;
+import com.example.contact.exception.ServiceUnavailableException;
+import com.example.contact.model.Lead;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Flux Server-Sent Events des créations et changements de statut de leads.
+ *
+ * Les connexions SSE sont asynchrones (aucun thread par connexion inactive).
+ * Chaque abonné a une file bornée ; un abonné trop lent dont la file déborde est
+ * déconnecté (il se reconnecte avec Last-Event-ID). Les derniers événements sont
+ * conservés dans un tampon circulaire pour la reprise.
+ *
+ * Un envoi bloqué (client qui ne lit plus, fenêtre TCP pleine) occupe son thread
+ * de diffusion jusqu'au délai d'écriture de Tomcat : au-delà de send-timeout,
+ * l'abonné est déconnecté et un thread de diffusion supplémentaire prend le
+ * relais jusqu'à la fin de l'envoi bloqué, pour que les autres abonnés ne
+ * l'attendent pas. Ni la publication ni la surveillance n'attendent un envoi.
+ *
+ * Identifiants d'événement « époque-numéro » : l'époque (démarrage de
+ * l'instance) distingue les numéros d'un redémarrage ou d'une autre instance, pour
+ * lesquels le client reçoit un reset.
+ */
+@Service
+@Slf4j
+public class LeadFeedBroadcaster {
+
+    private static final FeedEvent HEARTBEAT = new FeedEvent(0, null, null);
+
+    private final int replaySize;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMillis;
+    private final long sendTimeoutNanos;
+    private final int maxStalledSends;
+    private final String epoch = Long.toString(System.currentTimeMillis());
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Abonnés dont l'émetteur n'est pas terminé, y compris retirés pendant un envoi
+    private final Set<Subscriber> connections = ConcurrentHashMap.newKeySet();
+
+    // Tampon de reprise et diffusion protégés par le même verrou : un abonné qui
+    // reprend depuis Last-Event-ID ne peut ni manquer ni recevoir en double un événement
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<FeedEvent> replay;
+    private long lastEventId;
+
+    private final ThreadPoolExecutor dispatchExecutor;
+    // Threads ajoutés pour relayer les envois bloqués en cours
+    private final AtomicInteger stalledSends = new AtomicInteger();
+    private final AtomicLong stalledEvictions = new AtomicLong();
+
+    public LeadFeedBroadcaster(@Value("${app.live-feed.replay-size:1000}") int replaySize,
+                               @Value("${app.live-feed.buffer-size:256}") int bufferSize,
+                               @Value("${app.live-feed.max-subscribers:5000}") int maxSubscribers,
+                               @Value("${app.live-feed.dispatch-threads:4}") int dispatchThreads,
+                               @Value("${app.live-feed.timeout:30m}") Duration emitterTimeout,
+                               @Value("${app.live-feed.send-timeout:10s}") Duration sendTimeout,
+                               @Value("${app.live-feed.max-stalled-sends:32}") int maxStalledSends) {
+        this.replaySize = replaySize;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.maxStalledSends = maxStalledSends;
+        this.replay = new ArrayDeque<>(replaySize);
+        this.dispatchExecutor = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), Thread.ofPlatform().name("lead-feed-", 0).daemon().factory());
+    }
+
+    /**
+     * @param lastEventId dernier identifiant reçu par le client (en-tête Last-Event-ID)
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Trop d'abonnés au flux temps réel.");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> disconnect(subscriber));
+        emitter.onTimeout(() -> disconnect(subscriber));
+        emitter.onError(e -> disconnect(subscriber));
+        connections.add(subscriber);
+
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                replayAfter(subscriber, parseSequence(lastEventId));
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        // Premier envoi immédiat : le client reçoit les en-têtes sans attendre un événement
+        enqueue(subscriber, HEARTBEAT);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getStalledEvictions() {
+        return stalledEvictions.get();
+    }
+
+    @TransactionalEventListener
+    public void onLeadCreated(LeadCreatedEvent event) {
+        Lead lead = event.lead();
+        publish("lead-created", LeadFeedEventDto.builder()
+                .type("lead-created")
+                .leadId(lead.getId())
+                .fullName(lead.getFullName())
+                .company(lead.getCompany())
+                .requestType(lead.getRequestType().name())
+                .status(lead.getStatus().name())
+                .createdAt(lead.getCreatedAt())
+                .build());
+    }
+
+    @TransactionalEventListener
+    public void onLeadStatusChanged(LeadStatusChangedEvent event) {
+        publish("lead-status-changed", LeadFeedEventDto.builder()
+                .type("lead-status-changed")
+                .leadId(event.id())
+                .requestType(event.requestType().name())
+                .status(event.newStatus().name())
+                .previousStatus(event.oldStatus().name())
+                .createdAt(event.createdAt())
+                .build());
+    }
+
+    @TransactionalEventListener
+    public void onLeadDeleted(LeadDeletedEvent event) {
+        publish("lead-deleted", LeadFeedEventDto.builder()
+                .type("lead-deleted")
+                .leadId(event.id())
+                .requestType(event.requestType().name())
+                .status(event.status().name())
+                .build());
+    }
+
+    // Opérations groupées : un seul événement par lot, avec le nombre de leads concernés
+    @TransactionalEventListener
+    public void onLeadsStatusChanged(LeadsStatusChangedEvent event) {
+        publish("leads-status-changed", LeadFeedEventDto.builder()
+                .type("leads-status-changed")
+                .status(event.changes().get(0).newStatus().name())
+                .count(event.changes().size())
+                .build());
+    }
+
+    @TransactionalEventListener
+    public void onLeadsDeleted(LeadsDeletedEvent event) {
+        publish("leads-deleted", LeadFeedEventDto.builder()
+                .type("leads-deleted")
+                .count(event.deletions().size())
+                .build());
+    }
+
+    /**
+     * Commentaire SSE périodique : garde les connexions ouvertes à travers les
+     * proxys et détecte les clients partis (échec d'écriture)
+     */
+    @Scheduled(fixedDelayString = "${app.live-feed.heartbeat-interval:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, HEARTBEAT);
+        }
+    }
+
+    /**
+     * Déconnecte les abonnés dont l'envoi en cours dépasse send-timeout
+     */
+    @Scheduled(fixedDelayString = "${app.live-feed.stall-check-interval:1000}")
+    public void evictStalled() {
+        long now = System.nanoTime();
+        // Y compris les abonnés déjà retirés (file pleine) dont l'envoi est bloqué
+        for (Subscriber subscriber : connections) {
+            long started = subscriber.sendStartedAt().get();
+            if (started == 0 || now - started < sendTimeoutNanos || !subscriber.stalled().compareAndSet(false, true)) {
+                continue;
+            }
+            stalledEvictions.incrementAndGet();
+            // Relais du thread bloqué, rendu par complete à la fin de l'envoi
+            if (stalledSends.incrementAndGet() <= maxStalledSends) {
+                subscriber.compensated().set(true);
+                resizeDispatch(1);
+            } else {
+                stalledSends.decrementAndGet();
+            }
+            evict(subscriber, "envoi bloqué depuis " + (now - started) / 1_000_000 + " ms");
+            // Envoi terminé entre-temps, émetteur déjà terminé : relais inutile
+            if (subscriber.completed().get()) {
+                releaseCompensation(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> evict(subscriber, "arrêt"));
+        dispatchExecutor.shutdown();
+    }
+
+    private void publish(String name, LeadFeedEventDto payload) {
+        lock.lock();
+        try {
+            FeedEvent event = new FeedEvent(++lastEventId, name, payload);
+            if (replay.size() == replaySize) {
+                replay.removeFirst();
+            }
+            replay.addLast(event);
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return numéro de l'événement, ou -1 s'il vient d'une autre époque (redémarrage,
+     * autre instance) ou est illisible
+     */
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator <= 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void replayAfter(Subscriber subscriber, long lastEventId) {
+        FeedEvent oldest = replay.peekFirst();
+        boolean unknown = lastEventId < 0 || lastEventId > this.lastEventId;
+        if (unknown || oldest != null && oldest.id() > lastEventId + 1) {
+            // Trou dans l'historique, autre époque : le client doit recharger la liste complète
+            subscriber.queue().offer(new FeedEvent(this.lastEventId, "reset", null));
+            return;
+        }
+        for (FeedEvent event : replay) {
+            if (event.id() > lastEventId && !subscriber.queue().offer(event)) {
+                subscriber.queue().clear();
+                subscriber.queue().offer(new FeedEvent(this.lastEventId, "reset", null));
+                return;
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, FeedEvent event) {
+        if (!subscriber.queue().offer(event)) {
+            evict(subscriber, "file pleine");
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining().compareAndSet(false, true)) {
+            dispatchExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            FeedEvent event;
+            while (!subscriber.closed().get() && (event = subscriber.queue().poll()) != null) {
+                send(subscriber, event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            evict(subscriber, e.getMessage());
+        } finally {
+            subscriber.draining().set(false);
+        }
+        if (subscriber.closed().get()) {
+            complete(subscriber);
+        } else if (!subscriber.queue().isEmpty()) {
+            // Un événement arrivé entre le dernier poll et la remise à false
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, FeedEvent event) throws IOException {
+        SseEmitter.SseEventBuilder builder = event == HEARTBEAT
+                ? SseEmitter.event().comment("heartbeat")
+                : SseEmitter.event()
+                        .id(epoch + "-" + event.id())
+                        .name(event.name())
+                        .data(event.payload() != null ? event.payload() : "");
+        subscriber.sendStartedAt().set(System.nanoTime());
+        try {
+            subscriber.emitter().send(builder);
+        } finally {
+            subscriber.sendStartedAt().set(0);
+        }
+    }
+
+    /**
+     * Retire l'abonné. Les méthodes de l'émetteur sont synchronisées : pendant un
+     * envoi (éventuellement bloqué), c'est le thread de diffusion qui le termine,
+     * jamais l'appelant (publication, heartbeat, surveillance).
+     *
+     * @return false si l'abonné était déjà retiré
+     */
+    private boolean evict(Subscriber subscriber, String reason) {
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        log.debug("Abonné au flux des leads déconnecté: {}", reason);
+        subscriber.closed().set(true);
+        subscriber.queue().clear();
+        if (subscriber.draining().compareAndSet(false, true)) {
+            complete(subscriber);
+        }
+        return true;
+    }
+
+    private void complete(Subscriber subscriber) {
+        connections.remove(subscriber);
+        // completed avant le relais : evictStalled relâche lui-même un relais posé après
+        boolean first = subscriber.completed().compareAndSet(false, true);
+        releaseCompensation(subscriber);
+        if (first) {
+            try {
+                subscriber.emitter().complete();
+            } catch (IllegalStateException ignored) {
+                // Déjà terminé
+            }
+        }
+    }
+
+    // Émetteur terminé par le conteneur (client parti, délai, erreur)
+    private void disconnect(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        connections.remove(subscriber);
+    }
+
+    private void releaseCompensation(Subscriber subscriber) {
+        if (subscriber.compensated().getAndSet(false)) {
+            stalledSends.decrementAndGet();
+            resizeDispatch(-1);
+        }
+    }
+
+    private void resizeDispatch(int delta) {
+        synchronized (dispatchExecutor) {
+            int size = dispatchExecutor.getCorePoolSize() + delta;
+            // Le maximum ne peut être inférieur au nombre de threads permanents
+            if (delta > 0) {
+                dispatchExecutor.setMaximumPoolSize(size);
+                dispatchExecutor.setCorePoolSize(size);
+            } else {
+                dispatchExecutor.setCorePoolSize(size);
+                dispatchExecutor.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private record FeedEvent(long id, String name, LeadFeedEventDto payload) {
+    }
+
+    /**
+     * @param sendStartedAt début (nanoTime) de l'envoi en cours, 0 hors envoi
+     * @param closed        retiré : plus aucun envoi
+     * @param completed     émetteur terminé
+     * @param stalled       envoi bloqué au-delà de send-timeout
+     * @param compensated   un thread de diffusion relaie son envoi bloqué
+     */
+    private record Subscriber(SseEmitter emitter, BlockingQueue<FeedEvent> queue, AtomicBoolean draining,
+                              AtomicLong sendStartedAt, AtomicBoolean closed, AtomicBoolean completed,
+                              AtomicBoolean stalled, AtomicBoolean compensated) {
+        Subscriber(SseEmitter emitter, BlockingQueue<FeedEvent> queue) {
+            this(emitter, queue, new AtomicBoolean(), new AtomicLong(), new AtomicBoolean(), new AtomicBoolean(),
+                    new AtomicBoolean(), new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.response.LeadImportJobDto;
+import com.example.contact.event.LeadsImportedEvent;
+import com.example.contact.exception.BadRequestException;
+import com.example.contact.exception.ResourceNotFoundException;
+import com.example.contact.model.LeadImportJob;
+import com.example.contact.repository.LeadImportJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Import de leads historiques depuis un fichier CSV (migration depuis un autre CRM).
+ *
+ * Le fichier est projeté en mémoire (FileChannel.map) et découpé en morceaux alignés
+ * sur les fins d'enregistrement. Les morceaux sont analysés en parallèle sur un
+ * ForkJoinPool puis écrits dans l'ordre, un morceau par transaction (COPY sur
+ * PostgreSQL, INSERT en batch sinon). La position commitée est enregistrée dans la
+ * même transaction que les lignes : un import interrompu reprend exactement après le
+ * dernier morceau écrit. Les dates de création d'origine sont conservées et aucun
+ * email n'est envoyé.
+ */
+@Service
+@Slf4j
+public class LeadImportService {
+
+    private final LeadImportJobRepository jobRepository;
+    private final LeadBatchWriter batchWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final int chunkSize;
+    private final int maxRecordSize;
+    private final int parallelism;
+
+    // Un import à la fois : l'écriture est de toute façon séquentielle
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("lead-import").daemon().factory());
+
+    public LeadImportService(LeadImportJobRepository jobRepository,
+                             LeadBatchWriter batchWriter,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.import.directory}") Path directory,
+                             @Value("${app.import.chunk-size:8MB}") DataSize chunkSize,
+                             @Value("${app.import.max-record-size:1MB}") DataSize maxRecordSize,
+                             @Value("${app.import.parallelism:0}") int parallelism) {
+        this.jobRepository = jobRepository;
+        this.batchWriter = batchWriter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = directory;
+        this.chunkSize = (int) chunkSize.toBytes();
+        this.maxRecordSize = (int) maxRecordSize.toBytes();
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Imports restés "en cours" après un arrêt du serveur : marqués en échec, à reprendre
+     */
+    @PostConstruct
+    void markInterrupted() {
+        for (LeadImportJob job : jobRepository.findByStatus(LeadImportJob.ImportStatus.RUNNING)) {
+            job.setStatus(LeadImportJob.ImportStatus.FAILED);
+            job.setLastError("Import interrompu par l'arrêt du serveur");
+            jobRepository.save(job);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    /**
+     * Enregistre le fichier reçu puis lance l'import en arrière-plan
+     */
+    public LeadImportJobDto start(String fileName, InputStream content) throws IOException {
+        Files.createDirectories(directory);
+        Path stored = directory.resolve(UUID.randomUUID() + ".csv");
+        long size = Files.copy(content, stored);
+        if (size == 0) {
+            Files.delete(stored);
+            throw new BadRequestException("Fichier vide");
+        }
+
+        LeadImportJob job = jobRepository.save(LeadImportJob.builder()
+                .fileName(fileName != null ? fileName : stored.getFileName().toString())
+                .storedPath(stored.toString())
+                .totalBytes(size)
+                .build());
+        runner.execute(() -> run(job.getId()));
+        return toDto(job);
+    }
+
+    public LeadImportJobDto resume(Long id) {
+        LeadImportJob job = findJob(id);
+        if (job.getStatus() != LeadImportJob.ImportStatus.FAILED) {
+            throw new BadRequestException("Seul un import en échec peut être repris");
+        }
+        job.setStatus(LeadImportJob.ImportStatus.PENDING);
+        jobRepository.save(job);
+        runner.execute(() -> run(id));
+        return toDto(job);
+    }
+
+    public LeadImportJobDto getJob(Long id) {
+        return toDto(findJob(id));
+    }
+
+    public List<LeadImportJobDto> getJobs() {
+        return jobRepository.findAllByOrderByCreatedAtDesc().stream().map(this::toDto).toList();
+    }
+
+    private void run(Long id) {
+        LeadImportJob job = findJob(id);
+        job.setStatus(LeadImportJob.ImportStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job.setLastError(null);
+        jobRepository.save(job);
+
+        long started = System.nanoTime();
+        long importedBefore = job.getImportedRows();
+        ForkJoinPool parsePool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(Path.of(job.getStoredPath()), StandardOpenOption.READ)) {
+            importFile(job, channel, parsePool);
+            job.setStatus(LeadImportJob.ImportStatus.COMPLETED);
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            Files.deleteIfExists(Path.of(job.getStoredPath()));
+
+            long imported = job.getImportedRows() - importedBefore;
+            double seconds = Math.max(1, (System.nanoTime() - started) / 1_000_000) / 1000.0;
+            log.info("Import {} terminé: {} leads en {} s ({} lignes/s), {} rejetés",
+                    id, imported, seconds, Math.round(imported / seconds), job.getRejectedRows());
+        } catch (Exception e) {
+            log.error("Import {} en échec à l'octet {}: {}", id, job.getCommittedOffset(), e.getMessage());
+            LeadImportJob failed = findJob(id);
+            failed.setStatus(LeadImportJob.ImportStatus.FAILED);
+            failed.setLastError(truncate(e.getMessage()));
+            jobRepository.save(failed);
+        } finally {
+            parsePool.shutdownNow();
+        }
+    }
+
+    private void importFile(LeadImportJob job, FileChannel channel, ForkJoinPool parsePool) throws IOException {
+        long size = channel.size();
+        LocalDateTime importTime = LocalDateTime.now();
+
+        // En-tête : premier enregistrement du fichier
+        MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, maxRecordSize));
+        int headerEnd = LeadCsvParser.recordBoundaryAfter(head, 0);
+        if (headerEnd < 0) {
+            headerEnd = (int) Math.min(size, maxRecordSize);
+        }
+        byte[] headerBytes = new byte[headerEnd];
+        head.get(0, headerBytes);
+        List<String> header = new ArrayList<>();
+        LeadCsvParser.nextRecord(headerBytes, 0, header);
+        LeadCsvParser parser = new LeadCsvParser(header);
+
+        long position = Math.max(job.getCommittedOffset(), headerEnd);
+        // Analyse en avance bornée : au plus 2 morceaux par thread en mémoire
+        Deque<PendingChunk> inFlight = new ArrayDeque<>();
+        while (position < size || !inFlight.isEmpty()) {
+            while (position < size && inFlight.size() < parallelism * 2) {
+                long end = chunkEnd(channel, position, size);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, end - position);
+                long offset = position;
+                inFlight.addLast(new PendingChunk(end, CompletableFuture.supplyAsync(() -> {
+                    byte[] data = new byte[region.limit()];
+                    region.get(0, data);
+                    return parser.parse(data, offset, importTime);
+                }, parsePool)));
+                position = end;
+            }
+            PendingChunk next = inFlight.removeFirst();
+            write(job, next.end(), next.parsed().join());
+        }
+    }
+
+    // Fin du morceau commençant à start : premier saut de ligne hors guillemets après chunk-size
+    private long chunkEnd(FileChannel channel, long start, long size) throws IOException {
+        if (size - start <= chunkSize) {
+            return size;
+        }
+        long windowEnd = Math.min(size, start + chunkSize + maxRecordSize);
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, windowEnd - start);
+        int boundary = LeadCsvParser.recordBoundaryAfter(window, chunkSize - 1);
+        if (boundary < 0) {
+            if (windowEnd == size) {
+                return size;
+            }
+            throw new BadRequestException("Enregistrement de plus de " + maxRecordSize + " octets à l'octet " + start);
+        }
+        return start + boundary;
+    }
+
+    private void write(LeadImportJob job, long end, LeadCsvParser.ParsedChunk chunk) {
+        chunk.errors().forEach(error -> log.warn("Import {}: ligne rejetée ({})", job.getId(), error));
+        transactionTemplate.executeWithoutResult(status -> {
+            batchWriter.insert(chunk.leads());
+            job.setCommittedOffset(end);
+            job.setImportedRows(job.getImportedRows() + chunk.leads().size());
+            job.setRejectedRows(job.getRejectedRows() + chunk.rejected());
+            jobRepository.save(job);
+            eventPublisher.publishEvent(new LeadsImportedEvent(chunk.leads()));
+        });
+    }
+
+    private LeadImportJob findJob(Long id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Import non trouvé avec l'id: " + id));
+    }
+
+    private LeadImportJobDto toDto(LeadImportJob job) {
+        long processed = Math.min(job.getCommittedOffset(), job.getTotalBytes());
+        return LeadImportJobDto.builder()
+                .id(job.getId())
+                .fileName(job.getFileName())
+                .status(job.getStatus().name())
+                .totalBytes(job.getTotalBytes())
+                .processedBytes(processed)
+                .progress(job.getStatus() == LeadImportJob.ImportStatus.COMPLETED ? 100
+                        : job.getTotalBytes() > 0 ? (double) processed / job.getTotalBytes() * 100 : 0)
+                .importedRows(job.getImportedRows())
+                .rejectedRows(job.getRejectedRows())
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private record PendingChunk(long end, CompletableFuture<LeadCsvParser.ParsedChunk> parsed) {
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.dto.response.LeadDto;
+import com.example.contact.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Point d'entrée des soumissions du formulaire de contact.
+ *
+ * Mode "direct" : un INSERT par requête HTTP (comportement historique).
+ * Mode "batch"  : les requêtes validées sont placées dans une file bornée, vidée par
+ * un unique thread écrivain qui persiste des lots (déclenchés par taille ou délai).
+ * L'appelant est acquitté au commit de son lot. Si le délai d'acquittement expire
+ * après la remise à l'écrivain, l'accusé est « en attente » : le lot peut encore
+ * échouer (arrêt, repli unitaire), le client reçoit donc 503 avec Retry-After et
+ * son renvoi est rejoué par SubmissionDeduplicator, qui suit le lot jusqu'au commit.
+ */
+@Service
+@Slf4j
+public class LeadIntakeService {
+
+    private final LeadService leadService;
+    private final boolean batchMode;
+    private final int batchSize;
+    private final Duration maxWait;
+    private final Duration ackTimeout;
+    private final BlockingQueue<PendingLead> queue;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public LeadIntakeService(
+            LeadService leadService,
+            @Value("${app.intake.mode:direct}") String mode,
+            @Value("${app.intake.batch-size:100}") int batchSize,
+            @Value("${app.intake.max-wait:20ms}") Duration maxWait,
+            @Value("${app.intake.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.intake.ack-timeout:5s}") Duration ackTimeout) {
+        this.leadService = leadService;
+        this.batchMode = "batch".equalsIgnoreCase(mode);
+        this.batchSize = batchSize;
+        this.maxWait = maxWait;
+        this.ackTimeout = ackTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!batchMode) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "lead-intake-writer");
+        writer.start();
+        log.info("Intake des leads en mode batch (taille max {}, délai max {})", batchSize, maxWait);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // Le thread écrivain vide la file avant de s'arrêter ; passé le délai, il est
+        // interrompu et les soumissions restantes échouent (aucune ne reste sans réponse)
+        running = false;
+        writer.join(ackTimeout.toMillis());
+        if (writer.isAlive()) {
+            writer.interrupt();
+            writer.join(ackTimeout.toMillis());
+        }
+        failRemaining();
+    }
+
+    public Receipt submit(ContactFormRequest request) {
+        if (!batchMode) {
+            return Receipt.committed(leadService.createLead(request).getId());
+        }
+
+        PendingLead pending = new PendingLead(request, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new ServiceUnavailableException("Service temporairement saturé, veuillez réessayer.");
+        }
+        // Arrêt concurrent : l'écrivain a pu terminer avant notre ajout
+        if (!running && queue.remove(pending)) {
+            throw new ServiceUnavailableException("Service en cours d'arrêt, veuillez réessayer.");
+        }
+
+        try {
+            return Receipt.committed(pending.result().get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // Pas encore durable : l'appelant répond 503, la complétion reste suivie
+            log.debug("Délai d'acquittement dépassé, lead en attente de commit");
+            return Receipt.pending(pending.result());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Receipt.pending(pending.result());
+        }
+    }
+
+    public Duration getAckTimeout() {
+        return ackTimeout;
+    }
+
+    public boolean isBatchMode() {
+        return batchMode;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public int getQueueRemainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    private void drainLoop() {
+        List<PendingLead> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingLead first = queue.poll(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Compléter le lot jusqu'à la taille max ou l'expiration du délai
+                long deadline = System.nanoTime() + maxWait.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingLead next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                // Lot interrompu ou erreur inattendue : chaque appelant reçoit une réponse
+                failUncompleted(batch);
+                batch.clear();
+            }
+        }
+        failRemaining();
+    }
+
+    private void flush(List<PendingLead> batch) {
+        try {
+            List<LeadDto> saved = leadService.createLeads(batch.stream().map(PendingLead::request).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i).getId());
+            }
+        } catch (Exception e) {
+            // Un enregistrement invalide ne doit pas faire échouer tout le lot :
+            // on rejoue chaque requête individuellement
+            log.warn("Échec du lot de {} leads, repli en insertion unitaire: {}", batch.size(), e.getMessage());
+            for (PendingLead pending : batch) {
+                try {
+                    pending.result().complete(leadService.createLead(pending.request()).getId());
+                } catch (Exception single) {
+                    pending.result().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private void failUncompleted(List<PendingLead> batch) {
+        int failed = 0;
+        for (PendingLead pending : batch) {
+            if (pending.result().completeExceptionally(
+                    new ServiceUnavailableException("Enregistrement interrompu, veuillez réessayer."))) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            log.error("{} leads non enregistrés : lot interrompu", failed);
+        }
+    }
+
+    private void failRemaining() {
+        PendingLead pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(
+                    new ServiceUnavailableException("Service en cours d'arrêt, veuillez réessayer."));
+        }
+    }
+
+    /**
+     * Accusé de réception d'une soumission.
+     *
+     * @param leadId     id du lead, ou null si son lot n'était pas encore commité à
+     *                   l'expiration du délai d'acquittement
+     * @param completion id du lead une fois son lot commité
+     */
+    public record Receipt(Long leadId, CompletableFuture<Long> completion) {
+
+        static Receipt committed(Long leadId) {
+            return new Receipt(leadId, CompletableFuture.completedFuture(leadId));
+        }
+
+        static Receipt pending(CompletableFuture<Long> completion) {
+            return new Receipt(null, completion);
+        }
+
+        public boolean isPending() {
+            return leadId == null;
+        }
+    }
+
+    private record PendingLead(ContactFormRequest request, CompletableFuture<Long> result) {
+    }
+}
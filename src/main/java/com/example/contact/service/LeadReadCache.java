@@ -0,0 +1,161 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.response.LeadDto;
+import com.example.contact.dto.response.LeadSummaryDto;
+import com.example.contact.event.LeadCreatedEvent;
+import com.example.contact.event.LeadDeletedEvent;
+import com.example.contact.event.LeadStatusChangedEvent;
+import com.example.contact.event.LeadUpdatedEvent;
+import com.example.contact.event.LeadsDeletedEvent;
+import com.example.contact.event.LeadsImportedEvent;
+import com.example.contact.event.LeadsStatusChangedEvent;
+import com.example.contact.model.Lead;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Cache des lectures admin : détail d'un lead et premières pages de la liste
+ * (par filtre de statut). Consulté avant toute transaction : une entrée trouvée ne
+ * coûte ni connexion ni requête.
+ *
+ * Invalidation après commit par les événements de LeadService et des opérations
+ * groupées : le détail du lead modifié (à chaque mise à jour, version comprise),
+ * et les pages des statuts concernés plus la liste sans filtre.
+ */
+@Component
+public class LeadReadCache {
+
+    private static final Lead.LeadStatus[] STATUSES = Lead.LeadStatus.values();
+    // Groupe des pages sans filtre de statut
+    private static final int ALL_STATUSES = STATUSES.length;
+    private static final int LEAD_GROUPS = 1024;
+
+    private final boolean enabled;
+    private final int maxPage;
+    private final int maxPageSize;
+    private final ReadThroughCache<Long, LeadDto> leads;
+    private final ReadThroughCache<PageKey, Page<LeadSummaryDto>> pages;
+
+    public LeadReadCache(@Value("${app.cache.enabled:true}") boolean enabled,
+                         @Value("${app.cache.leads.max-size:10000}") int leadsMaxSize,
+                         @Value("${app.cache.leads.ttl:5m}") Duration leadsTtl,
+                         @Value("${app.cache.pages.max-size:500}") int pagesMaxSize,
+                         @Value("${app.cache.pages.ttl:30s}") Duration pagesTtl,
+                         @Value("${app.cache.pages.max-page:2}") int maxPage,
+                         @Value("${app.cache.pages.max-page-size:100}") int maxPageSize) {
+        this.enabled = enabled;
+        this.maxPage = maxPage;
+        this.maxPageSize = maxPageSize;
+        this.leads = new ReadThroughCache<>(leadsMaxSize, leadsTtl.toNanos(), LEAD_GROUPS,
+                id -> (int) (id & (LEAD_GROUPS - 1)));
+        this.pages = new ReadThroughCache<>(pagesMaxSize, pagesTtl.toNanos(), STATUSES.length + 1,
+                key -> key.status() != null ? key.status().ordinal() : ALL_STATUSES);
+    }
+
+    public LeadDto getLead(Long id, Supplier<LeadDto> loader) {
+        return enabled ? leads.get(id, loader) : loader.get();
+    }
+
+    /**
+     * Seules les premières pages (max-page) de taille raisonnable sont mises en cache
+     */
+    public Page<LeadSummaryDto> getPage(Lead.LeadStatus status, Pageable pageable,
+                                        Supplier<Page<LeadSummaryDto>> loader) {
+        if (!enabled || pageable.isUnpaged() || pageable.getPageNumber() >= maxPage
+                || pageable.getPageSize() > maxPageSize) {
+            return loader.get();
+        }
+        PageKey key = new PageKey(status, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        return pages.get(key, loader);
+    }
+
+    @TransactionalEventListener
+    public void onLeadCreated(LeadCreatedEvent event) {
+        invalidatePages(EnumSet.of(event.lead().getStatus()));
+    }
+
+    @TransactionalEventListener
+    public void onLeadsImported(LeadsImportedEvent event) {
+        Set<Lead.LeadStatus> statuses = EnumSet.noneOf(Lead.LeadStatus.class);
+        event.leads().forEach(lead -> statuses.add(lead.getStatus()));
+        invalidatePages(statuses);
+    }
+
+    @TransactionalEventListener
+    public void onLeadUpdated(LeadUpdatedEvent event) {
+        leads.invalidate(event.id());
+    }
+
+    // Détail invalidé par LeadUpdatedEvent, publié avec chaque changement unitaire
+    @TransactionalEventListener
+    public void onLeadStatusChanged(LeadStatusChangedEvent event) {
+        invalidatePages(EnumSet.of(event.oldStatus(), event.newStatus()));
+    }
+
+    @TransactionalEventListener
+    public void onLeadsStatusChanged(LeadsStatusChangedEvent event) {
+        Set<Lead.LeadStatus> statuses = EnumSet.noneOf(Lead.LeadStatus.class);
+        for (LeadStatusChangedEvent change : event.changes()) {
+            leads.invalidate(change.id());
+            statuses.add(change.oldStatus());
+            statuses.add(change.newStatus());
+        }
+        invalidatePages(statuses);
+    }
+
+    @TransactionalEventListener
+    public void onLeadDeleted(LeadDeletedEvent event) {
+        leads.invalidate(event.id());
+        invalidatePages(EnumSet.of(event.status()));
+    }
+
+    @TransactionalEventListener
+    public void onLeadsDeleted(LeadsDeletedEvent event) {
+        Set<Lead.LeadStatus> statuses = EnumSet.noneOf(Lead.LeadStatus.class);
+        for (LeadDeletedEvent deletion : event.deletions()) {
+            leads.invalidate(deletion.id());
+            statuses.add(deletion.status());
+        }
+        invalidatePages(statuses);
+    }
+
+    public long getHits() {
+        return leads.getHits() + pages.getHits();
+    }
+
+    public long getMisses() {
+        return leads.getMisses() + pages.getMisses();
+    }
+
+    public long getEvictions() {
+        return leads.getEvictions() + pages.getEvictions();
+    }
+
+    public int getLeadEntries() {
+        return leads.size();
+    }
+
+    public int getPageEntries() {
+        return pages.size();
+    }
+
+    // La liste sans filtre contient tous les statuts : toujours invalidée
+    private void invalidatePages(Set<Lead.LeadStatus> statuses) {
+        for (Lead.LeadStatus status : statuses) {
+            pages.invalidateGroup(status.ordinal());
+        }
+        pages.invalidateGroup(ALL_STATUSES);
+    }
+
+    private record PageKey(Lead.LeadStatus status, int page, int size, Sort sort) {
+    }
+}
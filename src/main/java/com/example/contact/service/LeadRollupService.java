@@ -0,0 +1,399 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.response.ConversionRateDto;
+import com.example.contact.dto.response.LeadTimeSeriesPointDto;
+import com.example.contact.event.LeadCreatedEvent;
+import com.example.contact.event.LeadDeletedEvent;
+import com.example.contact.event.LeadStatusChangedEvent;
+import com.example.contact.event.LeadsDeletedEvent;
+import com.example.contact.event.LeadsImportedEvent;
+import com.example.contact.event.LeadsStatusChangedEvent;
+import com.example.contact.model.Lead;
+import com.example.contact.model.LeadRollup;
+import com.example.contact.repository.LeadRepository;
+import com.example.contact.repository.LeadRollupRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rollups horaires et journaliers des leads, par (tranche, type de demande, statut).
+ *
+ * Les événements commités alimentent des deltas en mémoire, appliqués à la table
+ * lead_rollups par un flush périodique : incréments atomiques (UPDATE count = count + ?)
+ * en un batch JDBC, puis INSERT en batch des tranches absentes. Deux instances qui
+ * créent la même tranche en même temps : l'une échoue sur la contrainte d'unicité,
+ * ses deltas sont remis en attente et appliqués par incrément au flush suivant. Les requêtes analytiques
+ * ne lisent que les rollups : leur coût dépend de la plage demandée, pas du volume
+ * de la table leads. Les deltas non encore flushés (au plus flush-interval) ne sont
+ * pas visibles.
+ *
+ * Les deltas en mémoire sont perdus si l'instance s'arrête brutalement : une
+ * réconciliation avec la table leads (au démarrage puis toutes les
+ * reconcile-interval) corrige l'écart. Elle suppose une seule instance écrivant
+ * les rollups, les deltas en attente des autres instances n'étant pas connus :
+ * avec plusieurs instances, la désactiver (reconcile-interval très grand).
+ */
+@Service
+@Slf4j
+public class LeadRollupService {
+
+    private static final LeadRollup.Granularity[] GRANULARITIES = LeadRollup.Granularity.values();
+
+    private static final String INCREMENT_SQL = "UPDATE lead_rollups SET count = count + ? " +
+            "WHERE granularity = ? AND bucket_start = ? AND request_type = ? AND status = ?";
+    private static final String INSERT_SQL = "INSERT INTO lead_rollups " +
+            "(id, granularity, bucket_start, request_type, status, count) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final LeadRollupRepository rollupRepository;
+    private final LeadRepository leadRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LeadCommitGate commitGate;
+    private final JdbcTemplate jdbcTemplate;
+    // allocationSize de LeadRollup
+    private final PooledSequence rollupIds;
+
+    private final ConcurrentHashMap<RollupKey, Long> pending = new ConcurrentHashMap<>();
+
+    // flush et réconciliation s'excluent : un flush en cours (deltas retirés de
+    // pending mais pas encore commités) fausserait la comparaison
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final AtomicLong lastDrift = new AtomicLong();
+    private final AtomicLong driftCorrections = new AtomicLong();
+
+    public LeadRollupService(LeadRollupRepository rollupRepository,
+                             LeadRepository leadRepository,
+                             PlatformTransactionManager transactionManager,
+                             LeadCommitGate commitGate,
+                             DataSource dataSource) {
+        this.rollupRepository = rollupRepository;
+        this.leadRepository = leadRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.commitGate = commitGate;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.rollupIds = new PooledSequence(jdbcTemplate, "lead_rollups_seq", 50);
+    }
+
+    /**
+     * Reconstruit les rollups depuis la table leads s'ils n'existent pas encore
+     * (premier démarrage après l'ajout de la fonctionnalité), sinon les réconcilie :
+     * un arrêt brutal a pu perdre les derniers deltas.
+     */
+    @PostConstruct
+    void backfill() {
+        boolean empty = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (rollupRepository.count() > 0) {
+                return false;
+            }
+            Map<RollupKey, Long> counts = countLeads();
+            if (!counts.isEmpty()) {
+                apply(counts);
+                log.info("Rollups des leads reconstruits: {} tranches", counts.size());
+            }
+            return true;
+        }));
+        if (!empty) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Compare les rollups (table + deltas en attente) aux comptes de la table leads,
+     * dans un même instantané fixé par LeadCommitGate, et applique l'écart.
+     */
+    @Scheduled(fixedDelayString = "${app.rollups.reconcile-interval:3600000}",
+            initialDelayString = "${app.rollups.reconcile-interval:3600000}")
+    public void reconcile() {
+        writeLock.lock();
+        try {
+            Map<RollupKey, Long> corrections = commitGate.reconcile(() -> {
+                leadRepository.existsById(0L);
+                rollupRepository.existsById(0L);
+                return new HashMap<>(pending);
+            }, unflushed -> {
+                Map<RollupKey, Long> drift = countLeads();
+                for (LeadRollup rollup : rollupRepository.findAll()) {
+                    drift.merge(new RollupKey(rollup.getGranularity(), rollup.getBucketStart(),
+                            rollup.getRequestType(), rollup.getStatus()), -rollup.getCount(), Long::sum);
+                }
+                unflushed.forEach((key, delta) -> drift.merge(key, -delta, Long::sum));
+                drift.values().removeIf(delta -> delta == 0);
+                return drift;
+            });
+
+            long drift = 0;
+            for (long delta : corrections.values()) {
+                drift += Math.abs(delta);
+            }
+            lastDrift.set(drift);
+            if (drift > 0) {
+                // Écart relatif à l'instantané : les deltas arrivés depuis restent dans pending
+                transactionTemplate.executeWithoutResult(status -> apply(corrections));
+                driftCorrections.incrementAndGet();
+                log.warn("Rollups des leads corrigés: écart de {} sur {} tranches", drift, corrections.size());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeadCreated(LeadCreatedEvent event) {
+        Lead lead = event.lead();
+        accumulate(pending, lead.getCreatedAt(), lead.getRequestType(), lead.getStatus(), 1);
+    }
+
+    @TransactionalEventListener
+    public void onLeadStatusChanged(LeadStatusChangedEvent event) {
+        accumulate(pending, event.createdAt(), event.requestType(), event.oldStatus(), -1);
+        accumulate(pending, event.createdAt(), event.requestType(), event.newStatus(), 1);
+    }
+
+    @TransactionalEventListener
+    public void onLeadDeleted(LeadDeletedEvent event) {
+        accumulate(pending, event.createdAt(), event.requestType(), event.status(), -1);
+    }
+
+    @TransactionalEventListener
+    public void onLeadsImported(LeadsImportedEvent event) {
+        for (Lead lead : event.leads()) {
+            accumulate(pending, lead.getCreatedAt(), lead.getRequestType(), lead.getStatus(), 1);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeadsStatusChanged(LeadsStatusChangedEvent event) {
+        for (LeadStatusChangedEvent change : event.changes()) {
+            onLeadStatusChanged(change);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeadsDeleted(LeadsDeletedEvent event) {
+        for (LeadDeletedEvent deletion : event.deletions()) {
+            onLeadDeleted(deletion);
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${app.rollups.flush-interval:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            flushPending();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Écart absolu (somme sur toutes les tranches) constaté lors de la dernière réconciliation
+     */
+    public long getLastDrift() {
+        return lastDrift.get();
+    }
+
+    public long getDriftCorrections() {
+        return driftCorrections.get();
+    }
+
+    private void flushPending() {
+
+        // remove() est atomique : un delta ajouté après est conservé pour le prochain flush
+        Map<RollupKey, Long> deltas = new HashMap<>();
+        for (RollupKey key : pending.keySet()) {
+            Long delta = pending.remove(key);
+            if (delta != null && delta != 0) {
+                deltas.put(key, delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(deltas));
+        } catch (RuntimeException e) {
+            deltas.forEach((key, delta) -> pending.merge(key, delta, Long::sum));
+            log.warn("Échec du flush des rollups ({} tranches), nouvel essai au prochain passage: {}",
+                    deltas.size(), e.getMessage());
+        }
+    }
+
+    public List<LeadTimeSeriesPointDto> getTimeSeries(LeadRollup.Granularity granularity,
+                                                      LocalDateTime from,
+                                                      LocalDateTime to,
+                                                      Lead.RequestType requestType) {
+        List<LeadRollup> rollups = requestType != null
+                ? rollupRepository.findRangeByRequestType(granularity, requestType, truncate(from, granularity), to)
+                : rollupRepository.findRange(granularity, truncate(from, granularity), to);
+
+        // Lignes triées par tranche : une entrée par (tranche, type)
+        Map<RollupKey, long[]> points = new LinkedHashMap<>();
+        for (LeadRollup rollup : rollups) {
+            RollupKey point = new RollupKey(granularity, rollup.getBucketStart(), rollup.getRequestType(), null);
+            points.computeIfAbsent(point, k -> new long[Lead.LeadStatus.values().length])
+                    [rollup.getStatus().ordinal()] += rollup.getCount();
+        }
+
+        List<LeadTimeSeriesPointDto> series = new ArrayList<>(points.size());
+        points.forEach((point, byStatus) -> {
+            long total = sum(byStatus);
+            long converted = byStatus[Lead.LeadStatus.CONVERTED.ordinal()];
+            series.add(LeadTimeSeriesPointDto.builder()
+                    .bucketStart(point.bucketStart())
+                    .requestType(point.requestType().name())
+                    .totalLeads(total)
+                    .newLeads(byStatus[Lead.LeadStatus.NEW.ordinal()])
+                    .contactedLeads(byStatus[Lead.LeadStatus.CONTACTED.ordinal()])
+                    .convertedLeads(converted)
+                    .lostLeads(byStatus[Lead.LeadStatus.LOST.ordinal()])
+                    .conversionRate(rate(converted, total))
+                    .build());
+        });
+        return series;
+    }
+
+    public List<ConversionRateDto> getConversionRates(LocalDateTime from, LocalDateTime to) {
+        Map<Lead.RequestType, long[]> totals = new EnumMap<>(Lead.RequestType.class);
+        for (LeadRollup rollup : rollupRepository.findRange(
+                LeadRollup.Granularity.DAY, truncate(from, LeadRollup.Granularity.DAY), to)) {
+            long[] counts = totals.computeIfAbsent(rollup.getRequestType(), k -> new long[2]);
+            counts[0] += rollup.getCount();
+            if (rollup.getStatus() == Lead.LeadStatus.CONVERTED) {
+                counts[1] += rollup.getCount();
+            }
+        }
+
+        List<ConversionRateDto> rates = new ArrayList<>(totals.size());
+        totals.forEach((type, counts) -> rates.add(ConversionRateDto.builder()
+                .requestType(type.name())
+                .totalLeads(counts[0])
+                .convertedLeads(counts[1])
+                .conversionRate(rate(counts[1], counts[0]))
+                .build()));
+        return rates;
+    }
+
+    private Map<RollupKey, Long> countLeads() {
+        Map<RollupKey, Long> counts = new HashMap<>();
+        for (Object[] row : leadRepository.countGroupedByCreationHour()) {
+            if (row[0] == null) {
+                continue;
+            }
+            LocalDateTime hour = LocalDateTime.of(
+                    ((Number) row[0]).intValue(), ((Number) row[1]).intValue(), ((Number) row[2]).intValue(),
+                    ((Number) row[3]).intValue(), 0);
+            accumulate(counts, hour, (Lead.RequestType) row[4], (Lead.LeadStatus) row[5], ((Number) row[6]).longValue());
+        }
+        return counts;
+    }
+
+    // Dans la transaction courante : incréments atomiques, puis insertion des tranches absentes
+    private void apply(Map<RollupKey, Long> deltas) {
+        List<Map.Entry<RollupKey, Long>> entries = new ArrayList<>(deltas.entrySet());
+        int[] updated = jdbcTemplate.batchUpdate(INCREMENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, entries.get(i).getValue());
+                setKey(ps, 2, entries.get(i).getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+
+        List<Map.Entry<RollupKey, Long>> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(entries.get(i));
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<Long> ids = rollupIds.next(missing.size());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, ids.get(i));
+                setKey(ps, 2, missing.get(i).getKey());
+                ps.setLong(6, missing.get(i).getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return missing.size();
+            }
+        });
+    }
+
+    private static void setKey(PreparedStatement ps, int first, RollupKey key) throws SQLException {
+        ps.setString(first, key.granularity().name());
+        ps.setTimestamp(first + 1, Timestamp.valueOf(key.bucketStart()));
+        ps.setString(first + 2, key.requestType().name());
+        ps.setString(first + 3, key.status().name());
+    }
+
+    private static void accumulate(Map<RollupKey, Long> target, LocalDateTime createdAt,
+                                   Lead.RequestType requestType, Lead.LeadStatus status, long delta) {
+        if (createdAt == null) {
+            return;
+        }
+        for (LeadRollup.Granularity granularity : GRANULARITIES) {
+            target.merge(new RollupKey(granularity, truncate(createdAt, granularity), requestType, status),
+                    delta, Long::sum);
+        }
+    }
+
+    private static LocalDateTime truncate(LocalDateTime time, LeadRollup.Granularity granularity) {
+        return time.truncatedTo(granularity == LeadRollup.Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    private static double rate(long converted, long total) {
+        return total > 0 ? (double) converted / total * 100 : 0;
+    }
+
+    private record RollupKey(LeadRollup.Granularity granularity,
+                             LocalDateTime bucketStart,
+                             Lead.RequestType requestType,
+                             Lead.LeadStatus status) {
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.contact.service;
+
+import com.example.contact.model.Lead;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé en mémoire des leads (profil dev, sans PostgreSQL).
+ *
+ * Dictionnaire trié terme → (lead → poids) : la recherche par préfixe parcourt une
+ * plage du dictionnaire au lieu de la table. Le poids d'un terme dans un lead est la
+ * somme des poids de ses occurrences par champ (nom et entreprise > email > message,
+ * comme setweight côté PostgreSQL). Score : somme sur les termes de la requête de
+ * idf × poids saturé, tous les termes devant être présents.
+ */
+final class LeadSearchIndex {
+
+    static final float NAME_WEIGHT = 1.0f;
+    static final float EMAIL_WEIGHT = 0.4f;
+    static final float MESSAGE_WEIGHT = 0.1f;
+
+    // En dessous, un terme de requête n'est pas étendu par préfixe (trop de termes)
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    /**
+     * Découpe en termes : minuscules, séparation sur tout ce qui n'est ni lettre ni
+     * chiffre (les emails donnent donc leurs parties). Même découpage que la colonne
+     * search_vector PostgreSQL.
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    void index(Long id, String fullName, String company, String email, String message,
+               Lead.LeadStatus status, Lead.RequestType requestType) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, fullName, NAME_WEIGHT);
+        addTerms(weights, company, NAME_WEIGHT);
+        addTerms(weights, email, EMAIL_WEIGHT);
+        addTerms(weights, message, MESSAGE_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removePostings(id);
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(id, entry.getValue());
+            }
+            documents.put(id, new Document(weights.keySet().toArray(String[]::new), status, requestType));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void updateStatus(Long id, Lead.LeadStatus status) {
+        lock.writeLock().lock();
+        try {
+            documents.computeIfPresent(id, (key, document) ->
+                    new Document(document.terms(), status, document.requestType()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removePostings(id);
+            documents.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param terms termes de la requête (déjà découpés), chacun comparé par préfixe
+     * @return au plus limit résultats, par score décroissant puis id décroissant
+     */
+    List<Hit> search(List<String> terms, Lead.LeadStatus status, Lead.RequestType requestType, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String term : terms) {
+                Map<Long, Float> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Intersection en parcourant la plus petite des deux tables
+                    Map<Long, Float> small = scores.size() <= termScores.size() ? scores : termScores;
+                    Map<Long, Float> large = small == scores ? termScores : scores;
+                    Map<Long, Float> merged = new HashMap<>();
+                    for (Map.Entry<Long, Float> entry : small.entrySet()) {
+                        Float other = large.get(entry.getKey());
+                        if (other != null) {
+                            merged.put(entry.getKey(), entry.getValue() + other);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            if (scores == null) {
+                return List.of();
+            }
+
+            Comparator<Hit> order = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::id);
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, order);
+            for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                Document document = documents.get(entry.getKey());
+                if ((status != null && document.status() != status)
+                        || (requestType != null && document.requestType() != requestType)) {
+                    continue;
+                }
+                top.add(new Hit(entry.getKey(), entry.getValue()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            Hit[] hits = top.toArray(Hit[]::new);
+            Arrays.sort(hits, order.reversed());
+            return List.of(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Meilleur score du lead parmi les termes du dictionnaire commençant par term
+    private Map<Long, Float> scoreTerm(String term) {
+        NavigableMap<String, Map<Long, Float>> matches = term.length() < MIN_PREFIX_LENGTH
+                ? postings.subMap(term, true, term, true)
+                : postings.subMap(term, true, term + Character.MAX_VALUE, false);
+        int total = documents.size();
+        Map<Long, Float> scores = new HashMap<>();
+        for (Map<Long, Float> leads : matches.values()) {
+            int df = leads.size();
+            float idf = (float) Math.log(1 + (total - df + 0.5) / (df + 0.5));
+            for (Map.Entry<Long, Float> entry : leads.entrySet()) {
+                float weight = entry.getValue();
+                float score = idf * weight / (weight + 1.2f);
+                scores.merge(entry.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private void removePostings(Long id) {
+        Document previous = documents.get(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Map<Long, Float> leads = postings.get(term);
+            if (leads != null) {
+                leads.remove(id);
+                if (leads.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    record Hit(long id, double score) {
+    }
+
+    private record Document(String[] terms, Lead.LeadStatus status, Lead.RequestType requestType) {
+    }
+}
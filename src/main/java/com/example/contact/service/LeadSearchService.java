@@ -0,0 +1,287 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.response.LeadSearchHitDto;
+import com.example.contact.dto.response.LeadSearchResultDto;
+import com.example.contact.dto.response.LeadSummaryDto;
+import com.example.contact.event.LeadCreatedEvent;
+import com.example.contact.event.LeadDeletedEvent;
+import com.example.contact.event.LeadStatusChangedEvent;
+import com.example.contact.event.LeadsDeletedEvent;
+import com.example.contact.event.LeadsImportedEvent;
+import com.example.contact.event.LeadsStatusChangedEvent;
+import com.example.contact.exception.BadRequestException;
+import com.example.contact.model.Lead;
+import com.example.contact.repository.LeadRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recherche plein texte dans les leads (nom, entreprise, email, message).
+ *
+ * PostgreSQL : colonne générée search_vector (tsvector pondéré) indexée en GIN,
+ * créée au démarrage si elle n'existe pas (app.search.create-schema) ; classement
+ * par ts_rank. Autres bases
+ * (H2 en dev) : index inversé en mémoire (LeadSearchIndex), reconstruit au
+ * démarrage puis tenu à jour par les événements commités de LeadService. Les deux
+ * moteurs découpent le texte de la même façon et comparent chaque terme par préfixe.
+ */
+@Service
+@Slf4j
+public class LeadSearchService {
+
+    // Texte normalisé comme LeadSearchIndex.tokenize : minuscules, mots alphanumériques
+    private static final String NORMALIZE = "regexp_replace(lower(coalesce(%s, '')), '[^[:alnum:]]+', ' ', 'g')";
+
+    private static final String SEARCH_INDEX = "idx_leads_search_vector";
+
+    // Clé du verrou consultatif qui sérialise le DDL entre instances démarrant ensemble
+    private static final long SCHEMA_LOCK = 0x6c65616473L;
+
+    private final LeadRepository leadRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String textSearchConfig;
+    private final int maxResults;
+    private final boolean createSchema;
+
+    private volatile boolean postgres;
+    // null avec PostgreSQL
+    private volatile LeadSearchIndex index;
+
+    public LeadSearchService(LeadRepository leadRepository,
+                             DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.search.text-search-config:simple}") String textSearchConfig,
+                             @Value("${app.search.max-results:100}") int maxResults,
+                             @Value("${app.search.fetch-size:1000}") int fetchSize,
+                             @Value("${app.search.create-schema:true}") boolean createSchema) {
+        if (!textSearchConfig.matches("[a-z_]+")) {
+            throw new IllegalArgumentException("Configuration de recherche invalide: " + textSearchConfig);
+        }
+        this.leadRepository = leadRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.textSearchConfig = textSearchConfig;
+        this.maxResults = maxResults;
+        this.createSchema = createSchema;
+    }
+
+    @PostConstruct
+    void initialize() {
+        postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        if (postgres) {
+            if (createSchema) {
+                jdbcTemplate.execute((ConnectionCallback<Void>) this::createSearchColumn);
+            } else if (!hasSearchColumn(jdbcTemplate)) {
+                log.warn("Colonne leads.search_vector absente (app.search.create-schema=false) : la recherche échouera");
+            }
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * @param query    mots recherchés (tous requis, comparés par préfixe)
+     * @param limit    nombre de résultats (borné par app.search.max-results)
+     */
+    public LeadSearchResultDto search(String query, Lead.LeadStatus status, Lead.RequestType requestType, int limit) {
+        List<String> terms = LeadSearchIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            throw new BadRequestException("La recherche doit contenir au moins un mot");
+        }
+        int boundedLimit = Math.min(Math.max(limit, 1), maxResults);
+
+        long started = System.nanoTime();
+        List<LeadSearchIndex.Hit> hits = postgres
+                ? searchPostgres(terms, status, requestType, boundedLimit)
+                : index.search(terms, status, requestType, boundedLimit);
+
+        // Projection des leads trouvés en une requête, dans l'ordre du classement
+        Map<Long, LeadSummaryDto> leads = hits.isEmpty() ? Map.of()
+                : leadRepository.findSummariesByIdIn(hits.stream().map(LeadSearchIndex.Hit::id).toList()).stream()
+                        .collect(Collectors.toMap(LeadSummaryDto::getId, Function.identity()));
+        List<LeadSearchHitDto> content = new ArrayList<>(hits.size());
+        for (LeadSearchIndex.Hit hit : hits) {
+            LeadSummaryDto lead = leads.get(hit.id());
+            // Absent : supprimé entre la recherche et la projection
+            if (lead != null) {
+                content.add(new LeadSearchHitDto(hit.score(), lead));
+            }
+        }
+
+        return LeadSearchResultDto.builder()
+                .content(content)
+                .size(content.size())
+                .tookMs((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    @TransactionalEventListener
+    public void onLeadCreated(LeadCreatedEvent event) {
+        LeadSearchIndex current = index;
+        if (current != null) {
+            Lead lead = event.lead();
+            current.index(lead.getId(), lead.getFullName(), lead.getCompany(), lead.getEmail(), lead.getMessage(),
+                    lead.getStatus(), lead.getRequestType());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeadsImported(LeadsImportedEvent event) {
+        LeadSearchIndex current = index;
+        if (current != null) {
+            for (Lead lead : event.leads()) {
+                current.index(lead.getId(), lead.getFullName(), lead.getCompany(), lead.getEmail(), lead.getMessage(),
+                        lead.getStatus(), lead.getRequestType());
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeadStatusChanged(LeadStatusChangedEvent event) {
+        LeadSearchIndex current = index;
+        if (current != null) {
+            current.updateStatus(event.id(), event.newStatus());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeadsStatusChanged(LeadsStatusChangedEvent event) {
+        LeadSearchIndex current = index;
+        if (current != null) {
+            for (LeadStatusChangedEvent change : event.changes()) {
+                current.updateStatus(change.id(), change.newStatus());
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeadDeleted(LeadDeletedEvent event) {
+        LeadSearchIndex current = index;
+        if (current != null) {
+            current.remove(event.id());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeadsDeleted(LeadsDeletedEvent event) {
+        LeadSearchIndex current = index;
+        if (current != null) {
+            for (LeadDeletedEvent deletion : event.deletions()) {
+                current.remove(deletion.id());
+            }
+        }
+    }
+
+    private List<LeadSearchIndex.Hit> searchPostgres(List<String> terms, Lead.LeadStatus status,
+                                                     Lead.RequestType requestType, int limit) {
+        // Termes alphanumériques uniquement (tokenize) : pas d'échappement nécessaire
+        String tsquery = terms.stream()
+                .map(term -> term.length() >= 2 ? term + ":*" : term)
+                .collect(Collectors.joining(" & "));
+
+        StringBuilder sql = new StringBuilder("SELECT id, ts_rank(search_vector, q) AS score FROM leads, " +
+                "to_tsquery('" + textSearchConfig + "', ?) q WHERE search_vector @@ q");
+        List<Object> args = new ArrayList<>(4);
+        args.add(tsquery);
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        if (requestType != null) {
+            sql.append(" AND request_type = ?");
+            args.add(requestType.name());
+        }
+        sql.append(" ORDER BY score DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(),
+                (rs, i) -> new LeadSearchIndex.Hit(rs.getLong("id"), rs.getDouble("score")), args.toArray());
+    }
+
+    /**
+     * Colonne générée (PostgreSQL 12+) : tenue à jour par la base, y compris pour
+     * COPY et les instructions SQL directes.
+     *
+     * Hors transaction, sur une seule connexion : CREATE INDEX CONCURRENTLY ne
+     * s'exécute pas dans un bloc transactionnel et le verrou consultatif est
+     * attaché à la session.
+     */
+    private Void createSearchColumn(Connection connection) throws SQLException {
+        SingleConnectionDataSource session = new SingleConnectionDataSource(connection, true);
+        JdbcTemplate ddl = new JdbcTemplate(session);
+        ddl.execute("SELECT pg_advisory_lock(" + SCHEMA_LOCK + ")");
+        try {
+            if (!hasSearchColumn(ddl)) {
+                // Réécrit la table sous verrou exclusif : une seule fois, au premier démarrage
+                log.info("Création de la colonne de recherche plein texte (réécriture de la table leads)");
+                String vector = "setweight(to_tsvector('%1$s', %2$s), 'A') || setweight(to_tsvector('%1$s', %3$s), 'A') " +
+                        "|| setweight(to_tsvector('%1$s', %4$s), 'B') || setweight(to_tsvector('%1$s', %5$s), 'D')";
+                ddl.execute("ALTER TABLE leads ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" +
+                        String.format(vector, textSearchConfig, NORMALIZE.formatted("full_name"),
+                                NORMALIZE.formatted("company"), NORMALIZE.formatted("email"),
+                                NORMALIZE.formatted("message")) + ") STORED");
+            }
+
+            // Un CREATE INDEX CONCURRENTLY interrompu laisse un index invalide, ignoré
+            // par le planificateur et par IF NOT EXISTS : il est reconstruit
+            List<Boolean> valid = ddl.queryForList("SELECT i.indisvalid FROM pg_index i " +
+                    "JOIN pg_class c ON c.oid = i.indexrelid " +
+                    "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace", Boolean.class, SEARCH_INDEX);
+            if (!valid.isEmpty() && !valid.get(0)) {
+                log.warn("Index {} invalide (création interrompue), reconstruction", SEARCH_INDEX);
+                ddl.execute("DROP INDEX CONCURRENTLY IF EXISTS " + SEARCH_INDEX);
+            }
+            if (valid.isEmpty() || !valid.get(0)) {
+                log.info("Création de l'index {} (sans bloquer les écritures)", SEARCH_INDEX);
+                ddl.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + SEARCH_INDEX +
+                        " ON leads USING GIN (search_vector)");
+            }
+        } finally {
+            ddl.execute("SELECT pg_advisory_unlock(" + SCHEMA_LOCK + ")");
+        }
+        return null;
+    }
+
+    private static boolean hasSearchColumn(JdbcTemplate jdbc) {
+        Integer existing = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_schema = current_schema() AND table_name = 'leads' " +
+                        "AND column_name = 'search_vector'", Integer.class);
+        return existing != null && existing > 0;
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        LeadSearchIndex rebuilt = new LeadSearchIndex();
+        readOnlyTransaction.executeWithoutResult(tx -> jdbcTemplate.query(
+                "SELECT id, full_name, company, email, message, status, request_type FROM leads",
+                (RowCallbackHandler) rs -> rebuilt.index(rs.getLong("id"), rs.getString("full_name"),
+                        rs.getString("company"), rs.getString("email"), rs.getString("message"),
+                        Lead.LeadStatus.valueOf(rs.getString("status")),
+                        Lead.RequestType.valueOf(rs.getString("request_type")))));
+        index = rebuilt;
+        log.info("Index de recherche en mémoire construit: {} leads en {} ms",
+                rebuilt.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -2,18 +2,36 @@ package com.example.contact.service;
 
 import com.example.contact.dto.request.ContactFormRequest;
 import com.example.contact.dto.request.UpdateStatusRequest;
+import com.example.contact.dto.response.CursorPageDto;
 import com.example.contact.dto.response.LeadDto;
 import com.example.contact.dto.response.LeadStatsDto;
+import com.example.contact.dto.response.LeadSummaryDto;
+import com.example.contact.event.LeadCreatedEvent;
+import com.example.contact.event.LeadDeletedEvent;
+import com.example.contact.event.LeadStatusChangedEvent;
+import com.example.contact.event.LeadUpdatedEvent;
+import com.example.contact.exception.ConflictException;
 import com.example.contact.exception.ResourceNotFoundException;
+import com.example.contact.jfr.LeadIntakeEvent;
 import com.example.contact.model.Lead;
 import com.example.contact.repository.LeadRepository;
+import com.example.contact.repository.LeadStatusUpdate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Supplier;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -21,85 +39,189 @@ public class LeadService {
 
     private final LeadRepository leadRepository;
     private final EmailService emailService;
+    private final LeadStatsEngine statsEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LeadReadCache readCache;
+    private final MeterRegistry meterRegistry;
 
     @Transactional
     public LeadDto createLead(ContactFormRequest request) {
-        Lead lead = Lead.builder()
-                .fullName(request.getFullName())
-                .company(request.getCompany())
-                .email(request.getEmail())
-                .phone(request.getPhone())
-                .requestType(request.getRequestType())
-                .message(request.getMessage())
-                .status(Lead.LeadStatus.NEW)
-                .build();
+        return timed("leads.create", () -> {
+            Lead saved = LeadIntakeEvent.record(LeadIntakeEvent.PERSIST, request.getRequestType(), 1,
+                    () -> leadRepository.save(toEntity(request)));
+
+            // Emails écrits dans l'outbox, dans la même transaction que le lead
+            LeadIntakeEvent.record(LeadIntakeEvent.NOTIFY, saved.getRequestType(), 1, () -> {
+                emailService.queueNotificationToAdmin(saved);
+                emailService.queueConfirmationToVisitor(saved);
+                eventPublisher.publishEvent(new LeadCreatedEvent(saved));
+            });
 
-        Lead saved = leadRepository.save(lead);
+            log.info("Nouveau lead créé: {} ({})", saved.getFullName(), saved.getEmail());
 
-        // Envoyer les emails de manière asynchrone
-        emailService.sendNotificationToAdmin(saved);
-        emailService.sendConfirmationToVisitor(saved);
+            return mapToDto(saved);
+        }, "requestType", request.getRequestType().name());
+    }
 
-        log.info("Nouveau lead créé: {} ({})", saved.getFullName(), saved.getEmail());
+    /**
+     * Création groupée : un seul flush, les INSERT partent en batch JDBC
+     */
+    @Transactional
+    public List<LeadDto> createLeads(List<ContactFormRequest> requests) {
+        return createLeads(requests, true);
+    }
+
+    /**
+     * Création groupée, avec ou sans emails de notification (imports en masse)
+     */
+    @Transactional
+    public List<LeadDto> createLeads(List<ContactFormRequest> requests, boolean notify) {
+        List<Lead> saved = LeadIntakeEvent.record(LeadIntakeEvent.PERSIST, null, requests.size(),
+                () -> leadRepository.saveAll(requests.stream().map(this::toEntity).toList()));
+
+        LeadIntakeEvent.record(LeadIntakeEvent.NOTIFY, null, saved.size(), () -> {
+            for (Lead lead : saved) {
+                if (notify) {
+                    emailService.queueNotificationToAdmin(lead);
+                    emailService.queueConfirmationToVisitor(lead);
+                }
+                eventPublisher.publishEvent(new LeadCreatedEvent(lead));
+            }
+        });
+
+        log.info("{} nouveaux leads créés en batch", saved.size());
+
+        return saved.stream().map(LeadService::mapToDto).toList();
+    }
 
-        return mapToDto(saved);
+    /**
+     * Projection directe en LeadSummaryDto : ni entité gérée ni message complet.
+     * Premières pages servies par le LeadReadCache, sans transaction ni connexion
+     */
+    public Page<LeadSummaryDto> getAllLeads(Lead.LeadStatus status, Pageable pageable) {
+        return timed("leads.list", () -> readCache.getPage(status, pageable, () -> status != null
+                ? leadRepository.findSummariesByStatus(status, pageable)
+                : leadRepository.findSummaries(pageable)), "status", status != null ? status.name() : "ALL");
     }
 
-    public Page<LeadDto> getAllLeads(Lead.LeadStatus status, Pageable pageable) {
-        Page<Lead> leads;
-        if (status != null) {
-            leads = leadRepository.findByStatusOrderByCreatedAtDesc(status, pageable);
+    /**
+     * Pagination par curseur : coût constant quelle que soit la profondeur
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<LeadSummaryDto> getLeadsAfter(Lead.LeadStatus status, String cursor, int size) {
+        // Une ligne de plus que demandé pour savoir s'il existe une tranche suivante
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<LeadSummaryDto> leads;
+        if (cursor == null) {
+            leads = status != null
+                    ? leadRepository.findFirstSliceByStatus(status, limit)
+                    : leadRepository.findFirstSlice(limit);
         } else {
-            leads = leadRepository.findAllByOrderByCreatedAtDesc(pageable);
+            LeadCursor after = LeadCursor.decode(cursor);
+            leads = status != null
+                    ? leadRepository.findSliceByStatusAfter(status, after.createdAt(), after.id(), limit)
+                    : leadRepository.findSliceAfter(after.createdAt(), after.id(), limit);
         }
-        return leads.map(this::mapToDto);
+
+        boolean hasNext = leads.size() > size;
+        List<LeadSummaryDto> slice = hasNext ? leads.subList(0, size) : leads;
+
+        return CursorPageDto.<LeadSummaryDto>builder()
+                .content(slice)
+                .size(slice.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? LeadCursor.of(slice.get(slice.size() - 1)).encode() : null)
+                .build();
     }
 
+    // findById ouvre sa propre transaction en lecture seule, uniquement si le cache n'a pas le lead
     public LeadDto getLeadById(Long id) {
-        Lead lead = leadRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Lead non trouvé avec l'id: " + id));
-        return mapToDto(lead);
+        return readCache.getLead(id, () -> mapToDto(leadRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Lead non trouvé avec l'id: " + id))));
     }
 
+    /**
+     * Changement de statut en une seule requête (UPDATE ... RETURNING), sans charger le lead
+     */
     @Transactional
     public LeadDto updateStatus(Long id, UpdateStatusRequest request) {
-        Lead lead = leadRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Lead non trouvé avec l'id: " + id));
-
-        Lead.LeadStatus oldStatus = lead.getStatus();
-        lead.setStatus(request.getStatus());
-
-        Lead updated = leadRepository.save(lead);
-
-        log.info("Lead {} statut changé: {} → {}", id, oldStatus, request.getStatus());
-
-        return mapToDto(updated);
+        return timed("leads.status.update", () -> {
+            LeadStatusUpdate update = leadRepository
+                    .updateStatusReturning(id, request.getStatus(), request.getVersion(),
+                            LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                    .orElseThrow(() -> request.getVersion() != null && leadRepository.existsById(id)
+                            ? new ConflictException("Le lead " + id + " a été modifié entre-temps, veuillez le recharger.")
+                            : new ResourceNotFoundException("Lead non trouvé avec l'id: " + id));
+
+            Lead updated = update.lead();
+            eventPublisher.publishEvent(new LeadUpdatedEvent(id));
+            if (update.previousStatus() != updated.getStatus()) {
+                eventPublisher.publishEvent(new LeadStatusChangedEvent(
+                        id, updated.getRequestType(), updated.getCreatedAt(), update.previousStatus(), updated.getStatus()));
+            }
+
+            log.info("Lead {} statut changé: {} → {}", id, update.previousStatus(), updated.getStatus());
+
+            return mapToDto(updated);
+        }, "status", request.getStatus().name());
     }
 
+    /**
+     * Suppression en une seule requête (DELETE ... RETURNING)
+     */
     @Transactional
     public void deleteLead(Long id) {
-        if (!leadRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Lead non trouvé avec l'id: " + id);
-        }
-        leadRepository.deleteById(id);
+        Lead deleted = leadRepository.deleteReturning(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Lead non trouvé avec l'id: " + id));
+        eventPublisher.publishEvent(new LeadDeletedEvent(
+                id, deleted.getRequestType(), deleted.getCreatedAt(), deleted.getStatus(),
+                deleted.getFullName(), deleted.getCompany(), deleted.getEmail()));
         log.info("Lead {} supprimé", id);
     }
 
+    /**
+     * Statistiques lues en mémoire (voir LeadStatsEngine) : aucune requête SQL
+     */
     public LeadStatsDto getStats() {
-        long total = leadRepository.count();
-        long converted = leadRepository.countByStatus(Lead.LeadStatus.CONVERTED);
-
-        return LeadStatsDto.builder()
-                .totalLeads(total)
-                .newLeads(leadRepository.countByStatus(Lead.LeadStatus.NEW))
-                .contactedLeads(leadRepository.countByStatus(Lead.LeadStatus.CONTACTED))
-                .convertedLeads(converted)
-                .lostLeads(leadRepository.countByStatus(Lead.LeadStatus.LOST))
-                .conversionRate(total > 0 ? (double) converted / total * 100 : 0)
+        return timed("leads.stats", statsEngine::snapshot);
+    }
+
+    /**
+     * Durée d'une opération, étiquetée par l'exception levée (none si succès).
+     * Étiquettes bornées : énumérations et noms de classes, jamais d'id ni d'email.
+     * Pour les méthodes transactionnelles, le commit n'est pas inclus (il l'est
+     * dans http.server.requests).
+     */
+    private <T> T timed(String name, Supplier<T> operation, String... tags) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tags(tags)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private Lead toEntity(ContactFormRequest request) {
+        return Lead.builder()
+                .fullName(request.getFullName())
+                .company(request.getCompany())
+                .email(request.getEmail())
+                .phone(request.getPhone())
+                .requestType(request.getRequestType())
+                .message(request.getMessage())
+                .status(Lead.LeadStatus.NEW)
                 .build();
     }
 
-    private LeadDto mapToDto(Lead lead) {
+    // Visible du paquetage : mesuré par LeadMappingBenchmark (src/jmh)
+    static LeadDto mapToDto(Lead lead) {
         return LeadDto.builder()
                 .id(lead.getId())
                 .fullName(lead.getFullName())
@@ -111,6 +233,7 @@ public class LeadService {
                 .status(lead.getStatus().name())
                 .createdAt(lead.getCreatedAt())
                 .updatedAt(lead.getUpdatedAt())
+                .version(lead.getVersion())
                 .build();
     }
 }
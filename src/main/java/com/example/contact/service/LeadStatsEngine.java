@@ -0,0 +1,193 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.response.LeadStatsDto;
+import com.example.contact.event.LeadCreatedEvent;
+import com.example.contact.event.LeadDeletedEvent;
+import com.example.contact.event.LeadStatusChangedEvent;
+import com.example.contact.event.LeadsDeletedEvent;
+import com.example.contact.event.LeadsImportedEvent;
+import com.example.contact.event.LeadsStatusChangedEvent;
+import com.example.contact.model.Lead;
+import com.example.contact.repository.LeadRepository;
+import com.example.contact.repository.LeadStatusCount;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistiques des leads maintenues en mémoire.
+ *
+ * Un compteur LongAdder par couple (statut, type de demande), mis à jour après
+ * commit par les événements de LeadService. Initialisé au démarrage par une seule
+ * requête GROUP BY puis réconcilié périodiquement avec la base, dans un instantané
+ * cohérent avec les compteurs (LeadCommitGate).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LeadStatsEngine {
+
+    private static final Lead.LeadStatus[] STATUSES = Lead.LeadStatus.values();
+    private static final Lead.RequestType[] REQUEST_TYPES = Lead.RequestType.values();
+
+    private final LeadRepository leadRepository;
+    private final LeadCommitGate commitGate;
+
+    private final LongAdder[][] counters = newCounters();
+
+    private final AtomicLong lastDrift = new AtomicLong();
+    private final AtomicLong driftCorrections = new AtomicLong();
+
+    @PostConstruct
+    void seed() {
+        reconcile(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:300000}",
+            initialDelayString = "${app.stats.reconcile-interval:300000}")
+    public void reconcile() {
+        reconcile(false);
+    }
+
+    @TransactionalEventListener
+    public void onLeadCreated(LeadCreatedEvent event) {
+        counter(event.lead().getStatus(), event.lead().getRequestType()).increment();
+    }
+
+    @TransactionalEventListener
+    public void onLeadStatusChanged(LeadStatusChangedEvent event) {
+        counter(event.oldStatus(), event.requestType()).decrement();
+        counter(event.newStatus(), event.requestType()).increment();
+    }
+
+    @TransactionalEventListener
+    public void onLeadDeleted(LeadDeletedEvent event) {
+        counter(event.status(), event.requestType()).decrement();
+    }
+
+    @TransactionalEventListener
+    public void onLeadsImported(LeadsImportedEvent event) {
+        for (Lead lead : event.leads()) {
+            counter(lead.getStatus(), lead.getRequestType()).increment();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeadsStatusChanged(LeadsStatusChangedEvent event) {
+        for (LeadStatusChangedEvent change : event.changes()) {
+            counter(change.oldStatus(), change.requestType()).decrement();
+            counter(change.newStatus(), change.requestType()).increment();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeadsDeleted(LeadsDeletedEvent event) {
+        for (LeadDeletedEvent deletion : event.deletions()) {
+            counter(deletion.status(), deletion.requestType()).decrement();
+        }
+    }
+
+    public LeadStatsDto snapshot() {
+        long[] byStatus = new long[STATUSES.length];
+        Map<String, Long> byRequestType = new LinkedHashMap<>();
+        long total = 0;
+        for (Lead.RequestType type : REQUEST_TYPES) {
+            long typeTotal = 0;
+            for (Lead.LeadStatus status : STATUSES) {
+                long count = counters[status.ordinal()][type.ordinal()].sum();
+                byStatus[status.ordinal()] += count;
+                typeTotal += count;
+            }
+            byRequestType.put(type.name(), typeTotal);
+            total += typeTotal;
+        }
+
+        long converted = byStatus[Lead.LeadStatus.CONVERTED.ordinal()];
+        return LeadStatsDto.builder()
+                .totalLeads(total)
+                .newLeads(byStatus[Lead.LeadStatus.NEW.ordinal()])
+                .contactedLeads(byStatus[Lead.LeadStatus.CONTACTED.ordinal()])
+                .convertedLeads(converted)
+                .lostLeads(byStatus[Lead.LeadStatus.LOST.ordinal()])
+                .conversionRate(total > 0 ? (double) converted / total * 100 : 0)
+                .requestTypes(byRequestType)
+                .build();
+    }
+
+    /**
+     * Écart absolu (somme sur tous les compteurs) constaté lors de la dernière réconciliation
+     */
+    public long getLastDrift() {
+        return lastDrift.get();
+    }
+
+    public long getDriftCorrections() {
+        return driftCorrections.get();
+    }
+
+    private void reconcile(boolean force) {
+        // Compteurs copiés sous verrou exclusif : chaque écriture est soit dans
+        // l'instantané et dans la copie, soit dans aucun des deux
+        long[][] corrections = commitGate.reconcile(() -> {
+            leadRepository.existsById(0L);
+            long[][] counted = new long[STATUSES.length][REQUEST_TYPES.length];
+            for (Lead.LeadStatus status : STATUSES) {
+                for (Lead.RequestType type : REQUEST_TYPES) {
+                    counted[status.ordinal()][type.ordinal()] = counter(status, type).sum();
+                }
+            }
+            return counted;
+        }, counted -> {
+            long[][] expected = new long[STATUSES.length][REQUEST_TYPES.length];
+            for (LeadStatusCount row : leadRepository.countGroupedByStatusAndRequestType()) {
+                expected[row.getStatus().ordinal()][row.getRequestType().ordinal()] = row.getTotal();
+            }
+            for (int i = 0; i < expected.length; i++) {
+                for (int j = 0; j < expected[i].length; j++) {
+                    expected[i][j] -= counted[i][j];
+                }
+            }
+            return expected;
+        });
+
+        long drift = 0;
+        for (Lead.LeadStatus status : STATUSES) {
+            for (Lead.RequestType type : REQUEST_TYPES) {
+                // Écart relatif à l'instantané : add() conserve les événements appliqués depuis
+                long correction = corrections[status.ordinal()][type.ordinal()];
+                if (correction != 0) {
+                    counter(status, type).add(correction);
+                    drift += Math.abs(correction);
+                }
+            }
+        }
+
+        lastDrift.set(force ? 0 : drift);
+        if (!force && drift > 0) {
+            driftCorrections.incrementAndGet();
+            log.warn("Statistiques des leads corrigées: écart de {} avec la base", drift);
+        }
+    }
+
+    private LongAdder counter(Lead.LeadStatus status, Lead.RequestType requestType) {
+        return counters[status.ordinal()][requestType.ordinal()];
+    }
+
+    private static LongAdder[][] newCounters() {
+        LongAdder[][] counters = new LongAdder[STATUSES.length][REQUEST_TYPES.length];
+        for (LongAdder[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new LongAdder();
+            }
+        }
+        return counters;
+    }
+}
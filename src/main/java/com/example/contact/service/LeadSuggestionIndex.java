@@ -0,0 +1,305 @@
+package com.example.contact.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index de suggestions par préfixe pour un champ (entreprise, nom ou email).
+ *
+ * Une entrée par valeur distincte (clé normalisée), avec le nombre de leads et la
+ * date du plus récent. Base immuable en tableaux triés (clés, valeurs affichées,
+ * dates, compteurs) + arbre de segments sur les dates : les K valeurs les plus
+ * récentes d'une plage de préfixe sont trouvées en O(K log n) sans parcourir la
+ * plage. Les modifications vont dans un delta trié, fusionné dans une nouvelle base
+ * au-delà de compaction-threshold entrées. Lecture sans verrou (état immuable
+ * publié par une référence volatile), écritures sérialisées.
+ *
+ * Une suppression décrémente le compteur ; la date du plus récent n'est pas
+ * recalculée (elle peut rester celle d'un lead supprimé jusqu'à la reconstruction).
+ */
+final class LeadSuggestionIndex {
+
+    private final int compactionThreshold;
+    private volatile State state;
+
+    LeadSuggestionIndex(int compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+        this.state = new State(Segment.EMPTY, new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * Clé de comparaison : minuscules, espaces de bord retirés et espaces internes réduits
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String key = Normalizer.normalize(value.strip(), Normalizer.Form.NFC)
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+
+    /**
+     * Remplace tout le contenu (reconstruction au démarrage)
+     */
+    synchronized void load(Builder builder) {
+        state = new State(builder.build(), new ConcurrentSkipListMap<>());
+    }
+
+    synchronized void add(String value, long createdAt) {
+        String key = normalize(value);
+        if (key != null) {
+            apply(key, new Delta(value.strip(), createdAt, 1));
+        }
+    }
+
+    synchronized void remove(String value) {
+        String key = normalize(value);
+        if (key != null) {
+            apply(key, new Delta(null, Long.MIN_VALUE, -1));
+        }
+    }
+
+    int size() {
+        State current = state;
+        return current.segment.keys.length + current.delta.size();
+    }
+
+    /**
+     * @return au plus limit valeurs commençant par prefix, de la plus récente à la plus ancienne
+     */
+    List<Suggestion> suggest(String prefix, int limit) {
+        String from = normalize(prefix);
+        if (from == null) {
+            return List.of();
+        }
+        String to = from + Character.MAX_VALUE;
+        State current = state;
+        Segment segment = current.segment;
+
+        // Valeurs modifiées depuis la dernière compaction : état fusionné base + delta
+        List<Suggestion> results = new ArrayList<>();
+        for (Map.Entry<String, Delta> entry : current.delta.subMap(from, to).entrySet()) {
+            Suggestion merged = segment.merge(entry.getKey(), entry.getValue());
+            if (merged != null) {
+                results.add(merged);
+            }
+        }
+
+        // Base : meilleur d'abord dans l'arbre, limit entrées vivantes au plus
+        int lo = segment.lowerBound(from);
+        int hi = segment.lowerBound(to);
+        int found = 0;
+        PriorityQueue<int[]> queue = new PriorityQueue<>(
+                Comparator.comparingLong((int[] node) -> segment.latest[node[1]]).reversed());
+        segment.pushRange(queue, lo, hi);
+        while (found < limit && !queue.isEmpty()) {
+            int[] node = queue.poll();
+            if (!segment.pushChildren(queue, node)) {
+                int i = node[1];
+                if (!current.delta.containsKey(segment.keys[i])) {
+                    results.add(new Suggestion(segment.values[i], segment.latest[i], segment.counts[i]));
+                    found++;
+                }
+            }
+        }
+
+        results.sort(Comparator.comparingLong(Suggestion::latest).reversed()
+                .thenComparing(Suggestion::value));
+        return results.size() > limit ? List.copyOf(results.subList(0, limit)) : results;
+    }
+
+    private void apply(String key, Delta delta) {
+        State current = state;
+        current.delta.merge(key, delta, Delta::combine);
+        if (current.delta.size() >= compactionThreshold) {
+            state = new State(current.segment.compact(current.delta), new ConcurrentSkipListMap<>());
+        }
+    }
+
+    record Suggestion(String value, long latest, int count) {
+    }
+
+    // Modification cumulée d'une valeur depuis la dernière compaction
+    private record Delta(String value, long latest, int count) {
+
+        Delta combine(Delta other) {
+            boolean newer = other.latest > latest;
+            return new Delta(newer ? other.value : value, Math.max(latest, other.latest), count + other.count);
+        }
+    }
+
+    private record State(Segment segment, ConcurrentSkipListMap<String, Delta> delta) {
+    }
+
+    /**
+     * Agrège les valeurs d'un parcours complet de la table (une entrée par clé)
+     */
+    static final class Builder {
+
+        private final Map<String, Delta> entries = new HashMap<>();
+
+        void add(String value, long createdAt) {
+            String key = normalize(value);
+            if (key != null) {
+                entries.merge(key, new Delta(value.strip(), createdAt, 1), Delta::combine);
+            }
+        }
+
+        private Segment build() {
+            String[] keys = entries.keySet().toArray(String[]::new);
+            Arrays.sort(keys);
+            String[] values = new String[keys.length];
+            long[] latest = new long[keys.length];
+            int[] counts = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                Delta entry = entries.get(keys[i]);
+                values[i] = entry.value.equals(keys[i]) ? keys[i] : entry.value;
+                latest[i] = entry.latest;
+                counts[i] = entry.count;
+            }
+            return new Segment(keys, values, latest, counts);
+        }
+    }
+
+    /**
+     * Base immuable : tableaux parallèles triés par clé et arbre de segments
+     * (disposition itérative : feuilles n..2n-1, noeuds internes 1..n-1 contenant
+     * l'indice de l'entrée la plus récente de leur intervalle)
+     */
+    private static final class Segment {
+
+        static final Segment EMPTY = new Segment(new String[0], new String[0], new long[0], new int[0]);
+
+        final String[] keys;
+        // Même instance que la clé quand la valeur est déjà normalisée (emails)
+        final String[] values;
+        final long[] latest;
+        final int[] counts;
+        private final int[] tree;
+
+        Segment(String[] keys, String[] values, long[] latest, int[] counts) {
+            this.keys = keys;
+            this.values = values;
+            this.latest = latest;
+            this.counts = counts;
+            int n = keys.length;
+            this.tree = new int[n];
+            for (int node = n - 1; node >= 1; node--) {
+                int left = newest(2 * node);
+                int right = newest(2 * node + 1);
+                tree[node] = latest[left] >= latest[right] ? left : right;
+            }
+        }
+
+        int lowerBound(String key) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // Noeuds canoniques couvrant [lo, hi) : {noeud, indice du plus récent}
+        void pushRange(PriorityQueue<int[]> queue, int lo, int hi) {
+            int n = keys.length;
+            for (int l = lo + n, r = hi + n; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) {
+                    push(queue, l++);
+                }
+                if ((r & 1) == 1) {
+                    push(queue, --r);
+                }
+            }
+        }
+
+        /**
+         * @return false si le noeud est une feuille (entrée à émettre)
+         */
+        boolean pushChildren(PriorityQueue<int[]> queue, int[] node) {
+            if (node[0] >= keys.length) {
+                return false;
+            }
+            push(queue, 2 * node[0]);
+            push(queue, 2 * node[0] + 1);
+            return true;
+        }
+
+        Suggestion merge(String key, Delta delta) {
+            int i = lowerBound(key);
+            boolean inBase = i < keys.length && keys[i].equals(key);
+            int count = delta.count + (inBase ? counts[i] : 0);
+            if (count <= 0) {
+                return null;
+            }
+            if (!inBase || delta.latest > latest[i]) {
+                return new Suggestion(delta.value, delta.latest, count);
+            }
+            return new Suggestion(values[i], latest[i], count);
+        }
+
+        // Fusion ordonnée base + delta ; les valeurs sans lead disparaissent
+        Segment compact(ConcurrentNavigableMap<String, Delta> delta) {
+            int capacity = keys.length + delta.size();
+            String[] mergedKeys = new String[capacity];
+            String[] mergedValues = new String[capacity];
+            long[] mergedLatest = new long[capacity];
+            int[] mergedCounts = new int[capacity];
+            int size = 0;
+            int i = 0;
+            Iterator<Map.Entry<String, Delta>> changes = delta.entrySet().iterator();
+            Map.Entry<String, Delta> change = changes.hasNext() ? changes.next() : null;
+            while (i < keys.length || change != null) {
+                int order = change == null ? -1 : i >= keys.length ? 1 : keys[i].compareTo(change.getKey());
+                String key;
+                Suggestion entry;
+                if (order < 0) {
+                    key = keys[i];
+                    entry = new Suggestion(values[i], latest[i], counts[i]);
+                    i++;
+                } else {
+                    key = change.getKey();
+                    entry = merge(key, change.getValue());
+                    if (order == 0) {
+                        i++;
+                    }
+                    change = changes.hasNext() ? changes.next() : null;
+                }
+                if (entry != null) {
+                    mergedKeys[size] = key;
+                    mergedValues[size] = entry.value().equals(key) ? key : entry.value();
+                    mergedLatest[size] = entry.latest();
+                    mergedCounts[size] = entry.count();
+                    size++;
+                }
+            }
+            return new Segment(Arrays.copyOf(mergedKeys, size), Arrays.copyOf(mergedValues, size),
+                    Arrays.copyOf(mergedLatest, size), Arrays.copyOf(mergedCounts, size));
+        }
+
+        private void push(PriorityQueue<int[]> queue, int node) {
+            queue.add(new int[]{node, newest(node)});
+        }
+
+        private int newest(int node) {
+            return node >= keys.length ? node - keys.length : tree[node];
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.response.LeadSuggestionDto;
+import com.example.contact.event.LeadCreatedEvent;
+import com.example.contact.event.LeadDeletedEvent;
+import com.example.contact.event.LeadsDeletedEvent;
+import com.example.contact.event.LeadsImportedEvent;
+import com.example.contact.model.Lead;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Suggestions par préfixe (autocomplétion) sur l'entreprise, le nom et l'email des leads.
+ *
+ * Un LeadSuggestionIndex en mémoire par champ, construit au démarrage par un seul
+ * parcours en flux de la table puis tenu à jour par les créations, imports et
+ * suppressions commités. Les suggestions sont les valeurs distinctes les plus
+ * récentes (date du dernier lead) commençant par le préfixe saisi.
+ *
+ * Une suppression décrémente le compteur sans recalculer la date du plus récent :
+ * elle peut rester celle d'un lead supprimé jusqu'à la reconstruction suivante,
+ * refaite toutes les rebuild-interval (deux index en mémoire le temps du parcours).
+ * La reconstruction fige son instantané via LeadCommitGate ; les modifications
+ * commitées ensuite sont journalisées puis rejouées sur le nouvel index.
+ */
+@Service
+@Slf4j
+public class LeadSuggestionService {
+
+    public enum Field {
+        COMPANY,
+        FULL_NAME,
+        EMAIL
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxResults;
+    private final LeadCommitGate commitGate;
+    private final Map<Field, LeadSuggestionIndex> indexes = new EnumMap<>(Field.class);
+
+    // Modifications reçues pendant une reconstruction (null hors reconstruction),
+    // protégées par le moniteur de changes comme leur application à l'index
+    private final Object changes = new Object();
+    private List<Runnable> journal;
+
+    public LeadSuggestionService(DataSource dataSource,
+                                 LeadCommitGate commitGate,
+                                 @Value("${app.suggest.max-results:20}") int maxResults,
+                                 @Value("${app.suggest.compaction-threshold:10000}") int compactionThreshold,
+                                 @Value("${app.suggest.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.maxResults = maxResults;
+        this.commitGate = commitGate;
+        for (Field field : Field.values()) {
+            indexes.put(field, new LeadSuggestionIndex(compactionThreshold));
+        }
+    }
+
+    /**
+     * Construit les index par un parcours de la table (au démarrage puis toutes les
+     * rebuild-interval) : compteurs et dates du plus récent redeviennent exacts.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.suggest.rebuild-interval:3600000}",
+            initialDelayString = "${app.suggest.rebuild-interval:3600000}")
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        Map<Field, LeadSuggestionIndex.Builder> builders = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            builders.put(field, new LeadSuggestionIndex.Builder());
+        }
+        try {
+            commitGate.reconcile(() -> {
+                // Fige l'instantané : tout commit ultérieur passe par le journal
+                jdbcTemplate.queryForList("SELECT id FROM leads WHERE id = 0", Long.class);
+                synchronized (changes) {
+                    journal = new ArrayList<>();
+                }
+                return null;
+            }, ignored -> {
+                jdbcTemplate.query("SELECT company, full_name, email, created_at FROM leads",
+                        (RowCallbackHandler) rs -> {
+                            long createdAt = epochMillis(rs.getTimestamp("created_at"));
+                            builders.get(Field.COMPANY).add(rs.getString("company"), createdAt);
+                            builders.get(Field.FULL_NAME).add(rs.getString("full_name"), createdAt);
+                            builders.get(Field.EMAIL).add(rs.getString("email"), createdAt);
+                        });
+                return null;
+            });
+            synchronized (changes) {
+                builders.forEach((field, builder) -> indexes.get(field).load(builder));
+                journal.forEach(Runnable::run);
+            }
+        } finally {
+            synchronized (changes) {
+                journal = null;
+            }
+        }
+        log.info("Index de suggestions construit en {} ms: {} entreprises, {} noms, {} emails",
+                (System.nanoTime() - started) / 1_000_000, indexes.get(Field.COMPANY).size(),
+                indexes.get(Field.FULL_NAME).size(), indexes.get(Field.EMAIL).size());
+    }
+
+    /**
+     * @param field champ interrogé, ou null pour les trois
+     */
+    public List<LeadSuggestionDto> suggest(String prefix, Field field, int limit) {
+        int boundedLimit = Math.min(Math.max(limit, 1), maxResults);
+        List<LeadSuggestionDto> suggestions = new ArrayList<>();
+        for (Field candidate : field != null ? List.of(field) : List.of(Field.values())) {
+            for (LeadSuggestionIndex.Suggestion suggestion : indexes.get(candidate).suggest(prefix, boundedLimit)) {
+                suggestions.add(LeadSuggestionDto.builder()
+                        .field(candidate.name())
+                        .value(suggestion.value())
+                        .leadCount(suggestion.count())
+                        .lastLeadAt(LocalDateTime.ofEpochSecond(Math.floorDiv(suggestion.latest(), 1000),
+                                (int) Math.floorMod(suggestion.latest(), 1000) * 1_000_000, ZoneOffset.UTC))
+                        .build());
+            }
+        }
+        if (field == null) {
+            suggestions.sort(Comparator.comparing(LeadSuggestionDto::getLastLeadAt).reversed());
+            if (suggestions.size() > boundedLimit) {
+                return List.copyOf(suggestions.subList(0, boundedLimit));
+            }
+        }
+        return suggestions;
+    }
+
+    @TransactionalEventListener
+    public void onLeadCreated(LeadCreatedEvent event) {
+        apply(() -> add(event.lead()));
+    }
+
+    @TransactionalEventListener
+    public void onLeadsImported(LeadsImportedEvent event) {
+        apply(() -> event.leads().forEach(this::add));
+    }
+
+    @TransactionalEventListener
+    public void onLeadDeleted(LeadDeletedEvent event) {
+        apply(() -> remove(event));
+    }
+
+    @TransactionalEventListener
+    public void onLeadsDeleted(LeadsDeletedEvent event) {
+        apply(() -> event.deletions().forEach(this::remove));
+    }
+
+    private void apply(Runnable change) {
+        synchronized (changes) {
+            change.run();
+            if (journal != null) {
+                journal.add(change);
+            }
+        }
+    }
+
+    private void add(Lead lead) {
+        long createdAt = epochMillis(lead.getCreatedAt());
+        indexes.get(Field.COMPANY).add(lead.getCompany(), createdAt);
+        indexes.get(Field.FULL_NAME).add(lead.getFullName(), createdAt);
+        indexes.get(Field.EMAIL).add(lead.getEmail(), createdAt);
+    }
+
+    private void remove(LeadDeletedEvent deletion) {
+        indexes.get(Field.COMPANY).remove(deletion.company());
+        indexes.get(Field.FULL_NAME).remove(deletion.fullName());
+        indexes.get(Field.EMAIL).remove(deletion.email());
+    }
+
+    // Date locale stockée comme un instant UTC fictif : seul l'ordre compte
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+    }
+
+    private static long epochMillis(Timestamp timestamp) {
+        return timestamp != null ? epochMillis(timestamp.toLocalDateTime()) : 0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.contact.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Identifiants tirés hors JPA d'une séquence à allocation par blocs.
+ *
+ * Même lecture des valeurs que l'optimiseur « pooled » de Hibernate : une valeur v
+ * réserve les identifiants v - increment + 1 à v (v seul pour la valeur initiale).
+ * Une valeur de séquence par bloc de increment lignes, sans collision avec les
+ * identifiants attribués par JPA. Les identifiants non utilisés du dernier bloc
+ * sont perdus (au plus increment - 1 par appel).
+ */
+final class PooledSequence {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String sequence;
+    private final int increment;
+    private volatile String nextValuesSql;
+
+    /**
+     * @param increment pas de la séquence (allocationSize de l'entité)
+     */
+    PooledSequence(JdbcTemplate jdbcTemplate, String sequence, int increment) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequence = sequence;
+        this.increment = increment;
+    }
+
+    List<Long> next(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + increment - 1) / increment;
+            for (long high : jdbcTemplate.queryForList(nextValuesSql(), Long.class, blocks)) {
+                for (long id = Math.max(1, high - increment + 1); id <= high && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private String nextValuesSql() {
+        String sql = nextValuesSql;
+        if (sql == null) {
+            boolean postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+            sql = postgres
+                    ? "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)"
+                    : "SELECT NEXT VALUE FOR " + sequence + " FROM SYSTEM_RANGE(1, ?)";
+            nextValuesSql = sql;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.contact.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cache local borné en taille et en durée, alimenté par l'appelant (read-through).
+ *
+ * Chaque clé appartient à un groupe d'invalidation, qui porte un compteur de
+ * génération. Une invalidation incrémente la génération du groupe puis retire ses
+ * entrées ; un chargement ne conserve sa valeur que si la génération n'a pas bougé
+ * pendant la lecture en base, vérifiée à nouveau après l'insertion. Une lecture
+ * concurrente d'une écriture ne peut donc pas laisser une entrée périmée derrière
+ * l'invalidation.
+ */
+final class ReadThroughCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ToIntFunction<K> group;
+    private final AtomicLongArray generations;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param group  groupe d'invalidation d'une clé, dans [0, groups)
+     */
+    ReadThroughCache(int maxSize, long ttlNanos, int groups, ToIntFunction<K> group) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.group = group;
+        this.generations = new AtomicLongArray(groups);
+    }
+
+    V get(K key, Supplier<V> loader) {
+        long now = System.nanoTime();
+        Entry<V> cached = entries.get(key);
+        if (cached != null) {
+            if (now - cached.loadedAt() < ttlNanos) {
+                hits.increment();
+                return cached.value();
+            }
+            if (entries.remove(key, cached)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        int keyGroup = group.applyAsInt(key);
+        long generation = generations.get(keyGroup);
+        V value = loader.get();
+        if (value == null || generations.get(keyGroup) != generation) {
+            return value;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        Entry<V> loaded = new Entry<>(value, now);
+        entries.put(key, loaded);
+        // Invalidation survenue pendant l'insertion : elle a pu parcourir les entrées
+        // avant que celle-ci soit visible, on la retire nous-mêmes
+        if (generations.get(keyGroup) != generation) {
+            entries.remove(key, loaded);
+        }
+        return value;
+    }
+
+    void invalidate(K key) {
+        generations.incrementAndGet(group.applyAsInt(key));
+        entries.remove(key);
+    }
+
+    void invalidateGroup(int invalidated) {
+        generations.incrementAndGet(invalidated);
+        entries.keySet().removeIf(key -> group.applyAsInt(key) == invalidated);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    long getEvictions() {
+        return evictions.sum();
+    }
+
+    // Cache plein : entrées expirées d'abord, puis le dixième le plus ancien
+    private void evict(long now) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> now - entry.loadedAt() >= ttlNanos);
+        if (entries.size() >= maxSize) {
+            List<Map.Entry<K, Entry<V>>> oldest = new ArrayList<>(entries.entrySet());
+            oldest.sort(Comparator.comparingLong(entry -> entry.getValue().loadedAt()));
+            for (Map.Entry<K, Entry<V>> entry : oldest.subList(0, Math.max(1, oldest.size() / 10))) {
+                entries.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        evictions.add(Math.max(0, before - entries.size()));
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.exception.BadRequestException;
+import com.example.contact.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Suppression des soumissions en double du formulaire de contact, avant tout accès
+ * à la base.
+ *
+ * Deux clés sont enregistrées pour chaque soumission : l'en-tête Idempotency-Key
+ * (si fourni, conservé idempotency-ttl) et l'empreinte du contenu (email normalisé +
+ * message, conservée window). Une soumission dont une clé est déjà connue reçoit le
+ * résultat de l'originale, en l'attendant si elle est encore en cours : ni second
+ * INSERT ni second email, même pour des requêtes identiques simultanées. Une
+ * originale acceptée mais pas encore commitée (mode batch) reste suivie jusqu'à son
+ * commit ; si elle échoue, ses clés sont libérées pour un nouvel envoi. Un doublon
+ * dont l'originale n'a pas abouti dans wait-timeout reçoit 503 (Retry-After), jamais
+ * un accusé de succès.
+ *
+ * Seul l'id du lead créé est conservé (ni DTO ni donnée personnelle) : une entrée
+ * coûte quelques dizaines d'octets. Le magasin est en mémoire et borné (max-size) :
+ * la déduplication est locale à l'instance et ne survit pas à un redémarrage.
+ */
+@Service
+@Slf4j
+public class SubmissionDeduplicator {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final long idempotencyTtlMillis;
+    private final int maxSize;
+    private final long waitTimeoutMillis;
+
+    private final Map<String, Registration> entries = new ConcurrentHashMap<>();
+
+    public SubmissionDeduplicator(@Value("${app.dedup.enabled:true}") boolean enabled,
+                                  @Value("${app.dedup.window:10m}") Duration window,
+                                  @Value("${app.dedup.idempotency-ttl:24h}") Duration idempotencyTtl,
+                                  @Value("${app.dedup.max-size:100000}") int maxSize,
+                                  @Value("${app.dedup.wait-timeout:10s}") Duration waitTimeout) {
+        this.enabled = enabled;
+        this.windowMillis = window.toMillis();
+        this.idempotencyTtlMillis = idempotencyTtl.toMillis();
+        this.maxSize = maxSize;
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+    }
+
+    /**
+     * Exécute la soumission, sauf si elle duplique une soumission récente ou en cours.
+     *
+     * @param idempotencyKey valeur de l'en-tête Idempotency-Key, ou null
+     * @param submission     enregistrement effectif (appelé au plus une fois par clé),
+     *                       retourne l'accusé de réception de l'intake
+     */
+    public Result submit(String idempotencyKey, ContactFormRequest request,
+                         Supplier<LeadIntakeService.Receipt> submission) {
+        if (!enabled) {
+            return new Result(submission.get().leadId(), false);
+        }
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH)) {
+            throw new BadRequestException("En-tête Idempotency-Key invalide");
+        }
+
+        long now = System.currentTimeMillis();
+        String fingerprint = fingerprint(request);
+        Submission mine = new Submission(fingerprint, new CompletableFuture<>());
+
+        Registration byKey = null;
+        if (idempotencyKey != null) {
+            byKey = new Registration(mine, now + idempotencyTtlMillis);
+            Submission existing = register("key:" + idempotencyKey, byKey, now);
+            if (existing != null) {
+                if (!existing.fingerprint().equals(fingerprint)) {
+                    throw new BadRequestException("Idempotency-Key déjà utilisée pour une autre demande");
+                }
+                return replay(existing);
+            }
+        }
+
+        Registration byContent = new Registration(mine, now + windowMillis);
+        Submission existing = register("content:" + fingerprint, byContent, now);
+        if (existing != null) {
+            // Nouvelle clé d'idempotence pour un contenu déjà soumis : elle suit l'originale
+            existing.result().whenComplete((leadId, error) -> {
+                if (error != null) {
+                    mine.result().completeExceptionally(error);
+                } else {
+                    mine.result().complete(leadId);
+                }
+            });
+            return replay(existing);
+        }
+
+        try {
+            LeadIntakeService.Receipt receipt = submission.get();
+            receipt.completion().whenComplete((leadId, error) -> {
+                if (error != null) {
+                    mine.result().completeExceptionally(error);
+                } else {
+                    mine.result().complete(leadId);
+                }
+            });
+            return new Result(receipt.leadId(), false);
+        } catch (RuntimeException e) {
+            // Échec : une nouvelle tentative doit pouvoir s'exécuter
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dedup.purge-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return la soumission déjà enregistrée pour la clé, ou null si la nôtre a été
+     * enregistrée (ou ignorée faute de place)
+     */
+    private Submission register(String key, Registration registration, long now) {
+        while (true) {
+            Registration current = entries.get(key);
+            if (current != null && !current.isExpired(now)) {
+                return current.submission();
+            }
+            if (current == null) {
+                if (entries.size() >= maxSize) {
+                    purgeExpired();
+                    if (entries.size() >= maxSize) {
+                        log.warn("Magasin de déduplication plein ({} entrées), soumission non suivie", maxSize);
+                        return null;
+                    }
+                }
+                if (entries.putIfAbsent(key, registration) == null) {
+                    cleanupOnFailure(key, registration);
+                    return null;
+                }
+            } else if (entries.replace(key, current, registration)) {
+                cleanupOnFailure(key, registration);
+                return null;
+            }
+        }
+    }
+
+    private void cleanupOnFailure(String key, Registration registration) {
+        registration.submission().result().whenComplete((leadId, error) -> {
+            if (error != null) {
+                entries.remove(key, registration);
+            }
+        });
+    }
+
+    private Result replay(Submission original) {
+        try {
+            return new Result(original.result().get(waitTimeoutMillis, TimeUnit.MILLISECONDS), true);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // L'originale peut encore échouer : réessayer plus tard, le renvoi sera rejoué
+            throw originalPending();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw originalPending();
+        }
+    }
+
+    private ServiceUnavailableException originalPending() {
+        return new ServiceUnavailableException(
+                "Votre demande est en cours d'enregistrement, veuillez réessayer dans quelques secondes.",
+                Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitTimeoutMillis)));
+    }
+
+    // SHA-256 de l'email et du message normalisés : aucune donnée personnelle conservée
+    private static String fingerprint(ContactFormRequest request) {
+        String email = request.getEmail() != null ? request.getEmail().trim().toLowerCase(Locale.ROOT) : "";
+        String message = request.getMessage() != null
+                ? WHITESPACE.matcher(request.getMessage().trim()).replaceAll(" ").toLowerCase(Locale.ROOT)
+                : "";
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(email.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(message.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param leadId   id du lead, ou null si la soumission originale n'est pas encore
+     *                 commitée (accusé d'intake en attente)
+     * @param replayed true si le résultat est celui d'une soumission précédente
+     */
+    public record Result(Long leadId, boolean replayed) {
+
+        public boolean isPending() {
+            return leadId == null;
+        }
+    }
+
+    private record Submission(String fingerprint, CompletableFuture<Long> result) {
+    }
+
+    private record Registration(Submission submission, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+}
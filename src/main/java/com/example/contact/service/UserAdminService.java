@@ -0,0 +1,69 @@
+package com.example.contact.service;
+
+import com.example.contact.exception.ResourceNotFoundException;
+import com.example.contact.model.User;
+import com.example.contact.repository.UserRepository;
+import com.example.contact.security.UserLookupCache;
+import com.example.contact.security.UserStatusRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.function.Consumer;
+
+/**
+ * Désactivation des comptes et révocation de leurs tokens.
+ *
+ * La modification est commitée puis appliquée aussitôt aux états en mémoire de
+ * cette instance (UserStatusRegistry, UserLookupCache) ; les autres instances la
+ * voient au prochain rechargement du registre (refresh-interval).
+ */
+@Service
+public class UserAdminService {
+
+    private final UserRepository userRepository;
+    private final UserStatusRegistry userStatusRegistry;
+    private final UserLookupCache userLookupCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserAdminService(UserRepository userRepository,
+                            UserStatusRegistry userStatusRegistry,
+                            UserLookupCache userLookupCache,
+                            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userStatusRegistry = userStatusRegistry;
+        this.userLookupCache = userLookupCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Désactive le compte : tous ses tokens sont refusés, la connexion aussi
+     */
+    public void disable(Long id) {
+        User user = update(id, u -> u.setEnabled(false));
+        userStatusRegistry.disable(user.getEmail());
+        userLookupCache.invalidate(user.getEmail());
+    }
+
+    /**
+     * Révoque les tokens émis jusqu'ici ; le compte reste actif (nouvelle connexion possible)
+     */
+    public void revokeTokens(Long id) {
+        User user = update(id, u -> u.setTokensValidAfter(LocalDateTime.now()));
+        userStatusRegistry.revoke(user.getEmail(),
+                Date.from(user.getTokensValidAfter().atZone(ZoneId.systemDefault()).toInstant()));
+        userLookupCache.invalidate(user.getEmail());
+    }
+
+    private User update(Long id, Consumer<User> change) {
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé avec l'id: " + id));
+            change.accept(user);
+            return user;
+        });
+    }
+}
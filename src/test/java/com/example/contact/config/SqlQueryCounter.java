@@ -0,0 +1,112 @@
+package com.example.contact.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exécute une requête MockMvc et vérifie le nombre de requêtes SQL exécutées sur
+ * son thread (db.queries, scope request, publiée par StatementStatisticsFilter),
+ * puis que ce nombre tient dans le budget configuré pour l'endpoint. Même
+ * vérification pour une méthode @Transactional appelée directement (scope
+ * transaction), en ordres SQL (db.statements) comme en requêtes.
+ */
+final class SqlQueryCounter {
+
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+    private final StatementStatisticsRecorder recorder;
+
+    SqlQueryCounter(MockMvc mockMvc, MeterRegistry meterRegistry, StatementStatisticsRecorder recorder) {
+        this.mockMvc = mockMvc;
+        this.meterRegistry = meterRegistry;
+        this.recorder = recorder;
+    }
+
+    ResultActions perform(RequestBuilder request, int expectedQueries) throws Exception {
+        return perform(request, expectedQueries, expectedQueries);
+    }
+
+    /**
+     * Fourchette pour les écritures : les allocations de séquence (une toutes les
+     * allocationSize insertions) s'ajoutent aux INSERT
+     */
+    ResultActions perform(RequestBuilder request, int minQueries, int maxQueries) throws Exception {
+        Map<String, Measure> before = measures();
+        ResultActions result = mockMvc.perform(request);
+
+        MockHttpServletRequest servletRequest = result.andReturn().getRequest();
+        String name = servletRequest.getMethod() + " "
+                + servletRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Measure measure = measures().getOrDefault(name, Measure.NONE)
+                .minus(before.getOrDefault(name, Measure.NONE));
+
+        assertThat(measure.requests()).as("requêtes HTTP comptées pour %s", name).isEqualTo(1);
+        assertThat(measure.queries()).as("requêtes SQL de %s", name).isBetween((long) minQueries, (long) maxQueries);
+        assertThat(recorder.getBudget(name)).as("budget de %s", name)
+                .isNotNull()
+                .isGreaterThanOrEqualTo(maxQueries);
+        return result;
+    }
+
+    /**
+     * @param name méthode transactionnelle, ex. LeadService.updateStatus
+     */
+    void transaction(String name, int expectedStatements, Runnable action) {
+        Map<String, Measure> queriesBefore = measures("db.queries", StatementStatisticsRecorder.TRANSACTION);
+        Map<String, Measure> statementsBefore = measures("db.statements", StatementStatisticsRecorder.TRANSACTION);
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            // Erreur métier (404, 409) : la transaction annulée est comptée aussi
+        }
+        Measure queries = measures("db.queries", StatementStatisticsRecorder.TRANSACTION).getOrDefault(name, Measure.NONE)
+                .minus(queriesBefore.getOrDefault(name, Measure.NONE));
+        Measure statements = measures("db.statements", StatementStatisticsRecorder.TRANSACTION).getOrDefault(name, Measure.NONE)
+                .minus(statementsBefore.getOrDefault(name, Measure.NONE));
+
+        assertThat(queries.requests()).as("transactions comptées pour %s", name).isEqualTo(1);
+        assertThat(statements.queries()).as("ordres SQL de %s", name).isEqualTo(expectedStatements);
+        assertThat(queries.queries()).as("requêtes SQL de %s", name).isEqualTo(expectedStatements);
+        assertThat(recorder.getBudget(name)).as("budget de %s", name)
+                .isNotNull()
+                .isGreaterThanOrEqualTo(expectedStatements);
+    }
+
+    private Map<String, Measure> measures() {
+        return measures("db.queries", StatementStatisticsRecorder.REQUEST);
+    }
+
+    private Map<String, Measure> measures(String meter, String scope) {
+        Map<String, Measure> measures = new HashMap<>();
+        for (DistributionSummary summary : meterRegistry.find(meter)
+                .tag("scope", scope)
+                .summaries()) {
+            measures.put(summary.getId().getTag("name"),
+                    new Measure(summary.count(), (long) summary.totalAmount()));
+        }
+        return measures;
+    }
+
+    /**
+     * @param requests unités mesurées (requêtes HTTP ou transactions)
+     * @param queries  total mesuré (requêtes ou ordres SQL)
+     */
+    private record Measure(long requests, long queries) {
+
+        static final Measure NONE = new Measure(0, 0);
+
+        Measure minus(Measure other) {
+            return new Measure(requests - other.requests, queries - other.queries);
+        }
+    }
+}
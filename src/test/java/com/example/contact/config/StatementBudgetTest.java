@@ -0,0 +1,153 @@
+package com.example.contact.config;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.dto.request.UpdateStatusRequest;
+import com.example.contact.dto.response.LeadDto;
+import com.example.contact.model.Lead;
+import com.example.contact.service.LeadService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Nombre exact de requêtes SQL par endpoint (H2, profil dev), borné par les budgets
+ * de app.datasource.statistics.budgets. Les budgets valent pour PostgreSQL : là où
+ * les deux bases diffèrent (recherche), le compte attendu sur H2 est commenté.
+ *
+ * Utilisateur simulé (@WithMockUser) : pas de chargement d'utilisateur par le
+ * filtre JWT, comme en régime établi avec le UserLookupCache.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class StatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StatementStatisticsRecorder recorder;
+
+    @Autowired
+    private LeadService leadService;
+
+    private SqlQueryCounter sql;
+
+    @BeforeEach
+    void setUp() {
+        sql = new SqlQueryCounter(mockMvc, meterRegistry, recorder);
+    }
+
+    @Test
+    void detailUneRequetePuisCache() throws Exception {
+        LeadDto lead = leadService.createLead(request("Budget Detail"));
+
+        sql.perform(get("/api/admin/leads/{id}", lead.getId()), 1).andExpect(status().isOk());
+        sql.perform(get("/api/admin/leads/{id}", lead.getId()), 0).andExpect(status().isOk());
+    }
+
+    @Test
+    void listes() throws Exception {
+        // Au-delà des pages en cache (max-page) : page + COUNT
+        sql.perform(get("/api/admin/leads").param("page", "50").param("size", "20"), 2)
+                .andExpect(status().isOk());
+        sql.perform(get("/api/admin/leads/cursor").param("size", "5"), 1)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rechercheEtSuggestions() throws Exception {
+        leadService.createLead(request("Zéphyrin Budget"));
+
+        // H2 : index en mémoire puis projection ; PostgreSQL : ts_rank puis projection (budget 2)
+        sql.perform(get("/api/admin/leads/search").param("q", "zéphyrin"), 1)
+                .andExpect(status().isOk());
+        sql.perform(get("/api/admin/leads/suggest").param("q", "zéph"), 0)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void statistiquesEtAnalyses() throws Exception {
+        sql.perform(get("/api/admin/leads/stats"), 0).andExpect(status().isOk());
+        sql.perform(get("/api/admin/analytics/timeseries"), 1).andExpect(status().isOk());
+        sql.perform(get("/api/admin/analytics/conversion"), 1).andExpect(status().isOk());
+        sql.perform(get("/api/admin/imports/{id}", Long.MAX_VALUE), 1).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void ecritures() throws Exception {
+        LeadDto lead = leadService.createLead(request("Budget Ecriture"));
+
+        sql.perform(put("/api/admin/leads/{id}/status", lead.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CONTACTED\"}"), 1)
+                .andExpect(status().isOk());
+        sql.perform(delete("/api/admin/leads/{id}", lead.getId()), 1)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void changementDeStatutEtSuppressionEnUnOrdre() {
+        LeadDto lead = leadService.createLead(request("Budget Transaction"));
+
+        // UPDATE ... RETURNING (sans puis avec version), puis DELETE ... RETURNING
+        sql.transaction("LeadService.updateStatus", 1,
+                () -> leadService.updateStatus(lead.getId(), statusUpdate(Lead.LeadStatus.CONTACTED, null)));
+        sql.transaction("LeadService.updateStatus", 1,
+                () -> leadService.updateStatus(lead.getId(), statusUpdate(Lead.LeadStatus.CONVERTED, lead.getVersion() + 1)));
+        sql.transaction("LeadService.deleteLead", 1, () -> leadService.deleteLead(lead.getId()));
+
+        // Lead absent : l'ordre unique ne renvoie rien, 404 sans requête supplémentaire
+        sql.transaction("LeadService.deleteLead", 1, () -> leadService.deleteLead(lead.getId()));
+        sql.transaction("LeadService.updateStatus", 1,
+                () -> leadService.updateStatus(lead.getId(), statusUpdate(Lead.LeadStatus.LOST, null)));
+    }
+
+    @Test
+    void formulaireEtConnexion() throws Exception {
+        // Lead + outbox (2 emails en un lot JDBC), plus les allocations de séquence éventuelles
+        sql.perform(post("/api/contact")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName":"Budget Formulaire","email":"budget.formulaire@example.com",
+                                 "requestType":"INFO","message":"Bonjour, une question sur vos offres."}"""), 2, 5)
+                .andExpect(status().isOk());
+        sql.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"admin@example.com\",\"password\":\"admin123\"}"), 1)
+                .andExpect(status().isOk());
+    }
+
+    private static UpdateStatusRequest statusUpdate(Lead.LeadStatus status, Long version) {
+        UpdateStatusRequest request = new UpdateStatusRequest();
+        request.setStatus(status);
+        request.setVersion(version);
+        return request;
+    }
+
+    private static ContactFormRequest request(String fullName) {
+        ContactFormRequest request = new ContactFormRequest();
+        request.setFullName(fullName);
+        request.setEmail("budget@example.com");
+        request.setRequestType(Lead.RequestType.INFO);
+        request.setMessage("Message de test des budgets SQL.");
+        return request;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.contact.controller;
+
+import com.example.contact.exception.GlobalExceptionHandler;
+import com.example.contact.security.ContactRateLimiter;
+import com.example.contact.service.LeadBulkIntakeService;
+import com.example.contact.service.LeadIntakeService;
+import com.example.contact.service.SubmissionDeduplicator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Réponses du formulaire quand le lot d'intake n'est pas commité à temps (mode batch)
+ */
+class ContactControllerTest {
+
+    private static final String FORM = """
+            {"fullName":"Jean Dupont","email":"jean.dupont@example.com",
+             "requestType":"QUOTE","message":"Bonjour, je souhaite un devis."}""";
+
+    private final LeadIntakeService intake = mock(LeadIntakeService.class);
+    private final CompletableFuture<Long> completion = new CompletableFuture<>();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SubmissionDeduplicator deduplicator = new SubmissionDeduplicator(true, Duration.ofMinutes(10),
+                Duration.ofHours(24), 1000, Duration.ofMillis(50));
+        ContactController controller = new ContactController(intake, mock(ContactRateLimiter.class),
+                deduplicator, mock(LeadBulkIntakeService.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(intake.getAckTimeout()).thenReturn(Duration.ofSeconds(5));
+        when(intake.submit(any())).thenReturn(new LeadIntakeService.Receipt(null, completion));
+    }
+
+    @Test
+    void unLeadNonCommiteRepond503EtLeRenvoiEstRejoue() throws Exception {
+        // Pas d'accusé de succès tant que le lot peut échouer
+        mockMvc.perform(submit())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+
+        // Renvoi avant le commit : toujours 503, sans seconde soumission
+        mockMvc.perform(submit())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        // Renvoi après le commit : résultat de l'originale
+        completion.complete(42L);
+        mockMvc.perform(submit())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+
+        verify(intake, times(1)).submit(any());
+    }
+
+    @Test
+    void unLotEchoueLibereLaSoumissionPourUnNouvelEnvoi() throws Exception {
+        mockMvc.perform(submit()).andExpect(status().isServiceUnavailable());
+
+        completion.completeExceptionally(new IllegalStateException("lot interrompu"));
+        when(intake.submit(any())).thenReturn(new LeadIntakeService.Receipt(7L, CompletableFuture.completedFuture(7L)));
+
+        mockMvc.perform(submit())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "false"));
+        verify(intake, times(2)).submit(any());
+    }
+
+    private static RequestBuilder submit() {
+        return post("/api/contact").contentType(MediaType.APPLICATION_JSON).content(FORM);
+    }
+}
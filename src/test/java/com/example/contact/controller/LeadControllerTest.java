@@ -0,0 +1,108 @@
+package com.example.contact.controller;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.dto.response.LeadDto;
+import com.example.contact.model.Lead;
+import com.example.contact.service.LeadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class LeadControllerTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)-(\\d+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Test
+    void leDetailEnCacheSuitLaVersionMemeSansChangementDeStatut() throws Exception {
+        LeadDto lead = leadService.createLead(contactForm());
+        long version = lead.getVersion();
+
+        // Détail mis en cache
+        mockMvc.perform(get("/api/admin/leads/{id}", lead.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version));
+
+        mockMvc.perform(updateStatus(lead.getId(), Lead.LeadStatus.NEW, version))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1));
+
+        mockMvc.perform(get("/api/admin/leads/{id}", lead.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1));
+
+        // La version relue permet une nouvelle mise à jour (pas de 409)
+        mockMvc.perform(updateStatus(lead.getId(), Lead.LeadStatus.CONTACTED, version + 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONTACTED"));
+    }
+
+    @Test
+    void leFluxRepartDUnResetPourUnIdentifiantDUneAutreEpoque() throws Exception {
+        // Identifiant émis avant un redémarrage (autre époque) : reset, puis reprise normale
+        MockHttpServletResponse stale = mockMvc.perform(get("/api/admin/leads/stream")
+                        .header("Last-Event-ID", "1-42"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        String reset = await().atMost(Duration.ofSeconds(5))
+                .until(stale::getContentAsString, content -> content.contains("event:reset"));
+        Matcher resetId = EVENT_ID.matcher(reset);
+        assertThat(resetId.find()).isTrue();
+
+        MockHttpServletResponse resumed = mockMvc.perform(get("/api/admin/leads/stream")
+                        .header("Last-Event-ID", resetId.group(1) + "-" + resetId.group(2)))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        LeadDto lead = leadService.createLead(contactForm());
+
+        String created = await().atMost(Duration.ofSeconds(5))
+                .until(resumed::getContentAsString, content -> content.contains("\"leadId\":" + lead.getId()));
+        assertThat(created).doesNotContain("event:reset").contains("event:lead-created");
+        Matcher createdId = EVENT_ID.matcher(created);
+        assertThat(createdId.find()).isTrue();
+        assertThat(createdId.group(1)).isEqualTo(resetId.group(1));
+    }
+
+    private static RequestBuilder updateStatus(Long id, Lead.LeadStatus status, long version) {
+        return put("/api/admin/leads/{id}/status", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"" + status + "\",\"version\":" + version + "}");
+    }
+
+    private static ContactFormRequest contactForm() {
+        ContactFormRequest request = new ContactFormRequest();
+        request.setFullName("Claire Martin");
+        request.setEmail("claire.martin@example.com");
+        request.setRequestType(Lead.RequestType.QUOTE);
+        request.setMessage("Bonjour, pouvez-vous me rappeler ?");
+        return request;
+    }
+}
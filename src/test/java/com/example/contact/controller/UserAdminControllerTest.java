@@ -0,0 +1,93 @@
+package com.example.contact.controller;
+
+import com.example.contact.model.User;
+import com.example.contact.repository.UserRepository;
+import com.example.contact.security.JwtService;
+import com.example.contact.security.UserLookupCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Les actions admin s'appliquent sans attendre le rechargement du registre : les
+ * requêtes avec token passent par JwtAuthFilter, les actions par un admin simulé.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+@AutoConfigureMockMvc
+class UserAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    @Test
+    void laRevocationRefuseLesAnciensTokensEtPasLesNouveaux() throws Exception {
+        User account = createUser();
+        String issued = jwtService.generateToken(account);
+        // iat est à la seconde : révocation dans une seconde postérieure à l'émission
+        Thread.sleep(1000);
+        expectStats(issued, status().isOk());
+
+        mockMvc.perform(post("/api/admin/users/{id}/revoke-tokens", account.getId()).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNoContent());
+
+        assertThat(userRepository.findById(account.getId()).orElseThrow().getTokensValidAfter()).isNotNull();
+        expectStats(issued, status().isForbidden());
+        // Seconde suivante : iat postérieur à la révocation
+        Thread.sleep(1000);
+        expectStats(jwtService.generateToken(account), status().isOk());
+    }
+
+    @Test
+    void laDesactivationRefuseTousLesTokensEtRechargeLeCache() throws Exception {
+        User account = createUser();
+        String issued = jwtService.generateToken(account);
+        expectStats(issued, status().isOk());
+        assertThat(userLookupCache.findByEmail(account.getEmail())).get().extracting(User::isEnabled).isEqualTo(true);
+
+        mockMvc.perform(post("/api/admin/users/{id}/disable", account.getId()).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNoContent());
+
+        expectStats(issued, status().isForbidden());
+        expectStats(jwtService.generateToken(account), status().isForbidden());
+        assertThat(userLookupCache.findByEmail(account.getEmail())).get().extracting(User::isEnabled).isEqualTo(false);
+    }
+
+    @Test
+    void utilisateurInconnu() throws Exception {
+        mockMvc.perform(post("/api/admin/users/{id}/disable", Long.MAX_VALUE).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNotFound());
+    }
+
+    private User createUser() {
+        return userRepository.save(User.builder()
+                .email("admin-" + System.nanoTime() + "@example.com")
+                .password("{noop}inutilise")
+                .build());
+    }
+
+    private void expectStats(String token, ResultMatcher expected) throws Exception {
+        mockMvc.perform(get("/api/admin/leads/stats").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(expected);
+    }
+}
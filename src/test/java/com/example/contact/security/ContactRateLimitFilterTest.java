@@ -0,0 +1,32 @@
+package com.example.contact.security;
+
+import com.example.contact.service.IntakeLoadShedder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ContactRateLimitFilterTest {
+
+    private final ContactRateLimitFilter filter = new ContactRateLimitFilter(
+            mock(ContactRateLimiter.class), mock(IntakeLoadShedder.class), new ObjectMapper(), false);
+
+    @Test
+    void limiteSeulementLeFormulairePublic() {
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/contact"))).isFalse();
+
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/contact/bulk"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/contacts"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/contact"))).isTrue();
+    }
+
+    @Test
+    void ignoreLeCheminDeContexte() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/app/api/contact");
+        request.setContextPath("/app");
+
+        assertThat(filter.shouldNotFilter(request)).isFalse();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.contact.security;
+
+import com.example.contact.model.User;
+import com.example.contact.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserStatusRegistryTest {
+
+    private static final String EMAIL = "admin@example.com";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserStatusRegistry registry = new UserStatusRegistry(userRepository);
+
+    @Test
+    void uneDesactivationPendantLeRechargementNEstPasPerdue() {
+        // Lecture antérieure au commit de la désactivation, qui arrive avant la fin du rechargement
+        when(userRepository.findDisabledOrRevoked()).thenAnswer(invocation -> {
+            registry.disable(EMAIL);
+            return List.of();
+        });
+        registry.refresh();
+
+        assertThat(registry.isAccepted(EMAIL, new Date())).isFalse();
+    }
+
+    @Test
+    void leRechargementSuivantFaitAutoriteUneFoisLaRevocationLue() {
+        registry.disable(EMAIL);
+
+        // Compte réactivé en base entre-temps : la révocation locale est antérieure à cette lecture
+        when(userRepository.findDisabledOrRevoked()).thenReturn(List.of());
+        registry.refresh();
+
+        assertThat(registry.isAccepted(EMAIL, new Date())).isTrue();
+    }
+
+    @Test
+    void unCompteDesactiveEnBaseRefuseTousLesTokens() {
+        when(userRepository.findDisabledOrRevoked()).thenReturn(List.of(
+                User.builder().email(EMAIL).enabled(false).build()));
+        registry.refresh();
+
+        assertThat(registry.isAccepted(EMAIL, new Date())).isFalse();
+        assertThat(registry.isAccepted("autre@example.com", new Date())).isTrue();
+    }
+}
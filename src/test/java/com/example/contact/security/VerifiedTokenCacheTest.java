@@ -0,0 +1,55 @@
+package com.example.contact.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    // Pas plus grand que l'échantillon : toutes les entrées sont examinées à l'éviction
+    private static final int MAX_SIZE = VerifiedTokenCache.EVICTION_SAMPLE / 2;
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(MAX_SIZE);
+    private final long now = System.currentTimeMillis();
+
+    @Test
+    void cachePleinDeTokensValidesEvinceCeluiQuiExpireLePremier() {
+        for (int i = 0; i < MAX_SIZE; i++) {
+            cache.put("token-" + i, claims(now + 60_000 + i * 1_000L));
+        }
+
+        cache.put("nouveau", claims(now + 120_000));
+
+        assertThat(cache.size()).isEqualTo(MAX_SIZE);
+        assertThat(cache.get("nouveau", now)).isNotNull();
+        assertThat(cache.get("token-0", now)).isNull();
+        for (int i = 1; i < MAX_SIZE; i++) {
+            assertThat(cache.get("token-" + i, now)).isNotNull();
+        }
+    }
+
+    @Test
+    void lesEntreesExpireesPartentAvantLesTokensValides() {
+        cache.put("expire-1", claims(now - 1_000));
+        cache.put("expire-2", claims(now - 2_000));
+        for (int i = 2; i < MAX_SIZE; i++) {
+            cache.put("token-" + i, claims(now + 60_000));
+        }
+
+        cache.put("nouveau", claims(now + 60_000));
+
+        assertThat(cache.size()).isEqualTo(MAX_SIZE - 1);
+        assertThat(cache.get("nouveau", now)).isNotNull();
+        for (int i = 2; i < MAX_SIZE; i++) {
+            assertThat(cache.get("token-" + i, now)).isNotNull();
+        }
+    }
+
+    private static Claims claims(long expiresAtMillis) {
+        return Jwts.claims().subject("admin@example.com").expiration(new Date(expiresAtMillis)).build();
+    }
+}
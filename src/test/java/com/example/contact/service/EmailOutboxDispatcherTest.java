@@ -0,0 +1,125 @@
+package com.example.contact.service;
+
+import com.example.contact.model.EmailOutbox;
+import com.example.contact.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Message;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Expédition de l'outbox vers un serveur SMTP en mémoire (GreenMail, port du
+ * profil test). Le dispatcher planifié tourne aussi : les attentes portent sur
+ * l'état des lignes, quel que soit le passage qui les a expédiées.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+@AutoConfigureMockMvc
+class EmailOutboxDispatcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reserveEnvoieEtMarqueEnvoyes() throws Exception {
+        String prefix = "outbox-" + System.nanoTime();
+        List<Long> ids = IntStream.range(0, 3)
+                .mapToObj(i -> enqueue(prefix + "-" + i + "@example.com"))
+                .toList();
+
+        dispatcher.dispatchPending();
+
+        await().atMost(TIMEOUT).until(() -> ids.stream()
+                .allMatch(id -> status(id) == EmailOutbox.OutboxStatus.SENT));
+        for (Long id : ids) {
+            EmailOutbox sent = outboxRepository.findById(id).orElseThrow();
+            assertThat(sent.getSentAt()).isNotNull();
+            assertThat(sent.getAttempts()).isZero();
+        }
+
+        List<MimeMessage> received = receivedBy(prefix);
+        assertThat(received).hasSize(3);
+        assertThat(received.get(0).getSubject()).isEqualTo("Sujet de test");
+        assertThat(GreenMailUtil.getBody(received.get(0))).contains("Corps de test");
+    }
+
+    @Test
+    void reprogrammeApresEchecPuisEnvoie() throws Exception {
+        greenMail.stop();
+        String recipient = "outbox-retry-" + System.nanoTime() + "@example.com";
+        Long id = enqueue(recipient);
+        LocalDateTime enqueued = LocalDateTime.now();
+
+        // SMTP indisponible : tentative comptée, erreur conservée, backoff (30 s)
+        dispatcher.dispatchPending();
+        await().atMost(TIMEOUT).until(() -> outboxRepository.findById(id).orElseThrow().getAttempts() == 1);
+        EmailOutbox failed = outboxRepository.findById(id).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(EmailOutbox.OutboxStatus.PENDING);
+        assertThat(failed.getLastError()).isNotBlank();
+        assertThat(failed.getNextAttemptAt()).isAfter(enqueued.plusSeconds(20));
+
+        // Serveur revenu, échéance atteinte : envoyé au passage suivant
+        greenMail.start();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxRepository.findById(id).orElseThrow().setNextAttemptAt(LocalDateTime.now()));
+        dispatcher.dispatchPending();
+
+        await().atMost(TIMEOUT).until(() -> status(id) == EmailOutbox.OutboxStatus.SENT);
+        assertThat(outboxRepository.findById(id).orElseThrow().getAttempts()).isEqualTo(1);
+        assertThat(receivedBy(recipient)).hasSize(1);
+    }
+
+    private Long enqueue(String recipient) {
+        return outboxRepository.save(EmailOutbox.builder()
+                .recipient(recipient)
+                .subject("Sujet de test")
+                .body("Corps de test pour " + recipient)
+                .build()).getId();
+    }
+
+    private EmailOutbox.OutboxStatus status(Long id) {
+        return outboxRepository.findById(id).orElseThrow().getStatus();
+    }
+
+    private static List<MimeMessage> receivedBy(String recipientPrefix) {
+        return Arrays.stream(greenMail.getReceivedMessages())
+                .filter(message -> {
+                    try {
+                        return Arrays.stream(message.getRecipients(Message.RecipientType.TO))
+                                .anyMatch(address -> address.toString().startsWith(recipientPrefix));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+}
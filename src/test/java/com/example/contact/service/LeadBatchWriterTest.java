@@ -0,0 +1,83 @@
+package com.example.contact.service;
+
+import com.example.contact.model.Lead;
+import com.example.contact.repository.LeadRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+// Même configuration que les tests MockMvc : contexte (et base H2) partagé
+@AutoConfigureMockMvc
+class LeadBatchWriterTest {
+
+    @Autowired
+    private LeadBatchWriter batchWriter;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void uneValeurDeSequenceParTrancheDeCinquanteLignesSansCollisionAvecJpa() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<Lead> imported = leads("import", 120);
+        List<Lead> saved = new ArrayList<>();
+        try {
+            long before = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR leads_seq", Long.class);
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> batchWriter.insert(imported));
+            long after = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR leads_seq", Long.class);
+            // 120 lignes : 3 valeurs (blocs de 50) entre les deux lectures, et non une par ligne
+            assertThat(after - before).isEqualTo((3 + 1) * 50);
+
+            saved.addAll(leadRepository.saveAll(leads("jpa", 60)));
+
+            Set<Long> ids = new HashSet<>();
+            imported.forEach(lead -> ids.add(lead.getId()));
+            saved.forEach(lead -> ids.add(lead.getId()));
+            assertThat(ids).hasSize(180);
+            assertThat(leadRepository.findAllById(ids)).hasSize(180);
+        } finally {
+            // Insérés sans événement : hors des rollups, à ne pas laisser aux autres tests
+            leadRepository.deleteAllById(imported.stream().map(Lead::getId).filter(id -> id != null).toList());
+            leadRepository.deleteAll(saved);
+        }
+    }
+
+    private static List<Lead> leads(String prefix, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Lead> leads = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            leads.add(Lead.builder()
+                    .fullName("Client " + prefix + " " + i)
+                    .company("Entreprise " + i)
+                    .email(prefix + "-" + i + "@batch.example.com")
+                    .message("Demande importée en masse")
+                    .status(Lead.LeadStatus.NEW)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return leads;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.response.LeadDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeadBulkIntakeServiceTest {
+
+    private static final String RECORD = "{\"fullName\":\"Jean Dupont\",\"email\":\"jean.dupont@example.com\","
+            + "\"requestType\":\"QUOTE\",\"message\":\"Bonjour, je souhaite un devis.\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LeadService leadService = mock(LeadService.class);
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    void uneLigneTropLongueEstRejeteeEtLaSuivanteTraitee() throws IOException {
+        // 64 Mo sans saut de ligne, produits à la lecture : jamais en mémoire d'un bloc
+        InputStream body = new SequenceInputStream(Collections.enumeration(List.of(
+                text(RECORD + "\n"),
+                new FillerStream(64L * 1024 * 1024),
+                text("\n\r\n" + RECORD + "\r\n"),
+                text(RECORD))));
+
+        List<JsonNode> results = ingest(body, 1024);
+
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0).get("status").asText()).isEqualTo("CREATED");
+        assertThat(results.get(1).get("line").asInt()).isEqualTo(2);
+        assertThat(results.get(1).get("status").asText()).isEqualTo("FAILED");
+        assertThat(results.get(1).get("error").asText()).contains("1024 octets");
+        assertThat(results.get(2).get("line").asInt()).isEqualTo(4);
+        assertThat(results.get(2).get("status").asText()).isEqualTo("CREATED");
+        // Dernière ligne sans saut de ligne final
+        assertThat(results.get(3).get("line").asInt()).isEqualTo(5);
+        assertThat(results.get(3).get("status").asText()).isEqualTo("CREATED");
+    }
+
+    @Test
+    void uneLigneALaLimiteEstAcceptee() throws IOException {
+        List<JsonNode> results = ingest(text(RECORD + "\n"), RECORD.getBytes(StandardCharsets.UTF_8).length);
+
+        assertThat(results.get(0).get("status").asText()).isEqualTo("CREATED");
+    }
+
+    private List<JsonNode> ingest(InputStream body, int maxRecordSize) throws IOException {
+        when(leadService.createLeads(anyList(), anyBoolean())).thenAnswer(invocation -> {
+            List<?> requests = invocation.getArgument(0);
+            return requests.stream().map(r -> LeadDto.builder().id(ids.incrementAndGet()).build()).toList();
+        });
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        LeadBulkIntakeService service = new LeadBulkIntakeService(leadService, validator, objectMapper,
+                100, 1000, DataSize.ofBytes(maxRecordSize));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.ingest(body, out, false);
+
+        List<JsonNode> lines = objectMapper.readerFor(JsonNode.class)
+                .<JsonNode>readValues(out.toByteArray()).readAll();
+        JsonNode summary = lines.get(lines.size() - 1);
+        assertThat(summary.get("received").asLong()).isEqualTo(lines.size() - 1);
+        return lines.subList(0, lines.size() - 1).stream()
+                .sorted(Comparator.comparingInt(node -> node.get("line").asInt()))
+                .toList();
+    }
+
+    private static InputStream text(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Flux de 'x' sans saut de ligne
+    private static final class FillerStream extends InputStream {
+
+        private long remaining;
+
+        FillerStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            remaining--;
+            return 'x';
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int count = (int) Math.min(len, remaining);
+            Arrays.fill(b, off, off + count, (byte) 'x');
+            remaining -= count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.contact.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Export de nombreux leads sous un tas plafonné (exécution heap-capped de surefire,
+ * -Xmx64m) : le volume exporté dépasse largement le tas, l'export doit donc rester
+ * en mémoire constante. Base H2 sur disque, pour que les leads ne soient pas dans
+ * le tas. Volume réglable par -Dexport.heap.rows (ex. 5000000).
+ */
+class LeadExportHeapTest {
+
+    private static final long MAX_HEAP = 128L * 1024 * 1024;
+    private static final int ROWS = Integer.getInteger("export.heap.rows", 1_000_000);
+    private static final int INSERT_CHUNK = 100_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void exporteSousTasPlafonne() throws Exception {
+        assertThat(Runtime.getRuntime().maxMemory()).as("tas plafonné (exécution heap-capped)").isLessThanOrEqualTo(MAX_HEAP);
+
+        DataSource dataSource = LeadExportServiceTest.dataSource("jdbc:h2:file:" + directory.resolve("leads"));
+        LeadExportServiceTest.createLeadsTable(dataSource);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (int first = 1; first <= ROWS; first += INSERT_CHUNK) {
+            jdbc.update("INSERT INTO leads SELECT X, 'Lead ' || X, NULL, 'lead' || X || '@example.com', NULL, 'INFO', " +
+                            "REPEAT('m', 200), 'NEW', TIMESTAMP '2026-01-01 00:00:00', NULL FROM SYSTEM_RANGE(?, ?)",
+                    first, Math.min(first + INSERT_CHUNK - 1, ROWS));
+        }
+
+        CountingOutputStream out = new CountingOutputStream();
+        LeadExportServiceTest.exportService(dataSource).export(LeadExportService.Format.CSV, null, null, null, out);
+
+        assertThat(out.lines).isEqualTo(ROWS + 1);
+        assertThat(out.bytes).isGreaterThan(2 * Runtime.getRuntime().maxMemory());
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
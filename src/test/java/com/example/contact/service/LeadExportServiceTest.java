@@ -0,0 +1,75 @@
+package com.example.contact.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeadExportServiceTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = dataSource("jdbc:h2:mem:export-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        createLeadsTable(dataSource);
+    }
+
+    @Test
+    void neutraliseLesFormulesDansLeCsv() throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO leads (id, full_name, company, email, phone, request_type, message, status, created_at) " +
+                        "VALUES (1, ?, ?, ?, ?, 'INFO', ?, 'NEW', TIMESTAMP '2026-01-01 10:00:00')",
+                "=HYPERLINK(\"http://evil.example\",\"clic\")", "@SUM(A1:A9)", "-2+3@example.com", "+33 6 12 34 56 78",
+                "Bonjour, ceci n'est pas une formule");
+
+        String csv = export(LeadExportService.Format.CSV);
+
+        assertThat(csv.split("\r\n")[1]).isEqualTo(
+                "1,\"'=HYPERLINK(\"\"http://evil.example\"\",\"\"clic\"\")\",'@SUM(A1:A9),'-2+3@example.com,"
+                        + "'+33 6 12 34 56 78,INFO,\"Bonjour, ceci n'est pas une formule\",NEW,2026-01-01T10:00,");
+    }
+
+    @Test
+    void leNdjsonResteBrut() throws Exception {
+        new JdbcTemplate(dataSource).update("INSERT INTO leads (id, full_name, email, request_type, message, status, created_at) " +
+                "VALUES (1, '=1+2', 'a@example.com', 'INFO', 'Ligne 1\nLigne 2', 'NEW', TIMESTAMP '2026-01-01 10:00:00')");
+
+        String ndjson = export(LeadExportService.Format.NDJSON);
+
+        assertThat(ndjson).startsWith("{\"id\":1,\"fullName\":\"=1+2\",").contains("\"message\":\"Ligne 1\\nLigne 2\"");
+        assertThat(ndjson.lines()).hasSize(1);
+    }
+
+    private String export(LeadExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService(dataSource).export(format, null, null, null, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    static DataSource dataSource(String url) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        return dataSource;
+    }
+
+    static void createLeadsTable(DataSource dataSource) {
+        new JdbcTemplate(dataSource).execute("""
+                CREATE TABLE IF NOT EXISTS leads (
+                    id BIGINT PRIMARY KEY, full_name VARCHAR(255), company VARCHAR(255), email VARCHAR(255),
+                    phone VARCHAR(50), request_type VARCHAR(20), message VARCHAR(5000), status VARCHAR(20),
+                    created_at TIMESTAMP, updated_at TIMESTAMP)""");
+    }
+
+    static LeadExportService exportService(DataSource dataSource) {
+        return new LeadExportService(dataSource, new DataSourceTransactionManager(dataSource), new ObjectMapper(), 500);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.dto.response.LeadDto;
+import com.example.contact.exception.ServiceUnavailableException;
+import com.example.contact.model.Lead;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeadIntakeServiceTest {
+
+    private final LeadService leadService = mock(LeadService.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private LeadIntakeService intake;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        if (intake != null) {
+            intake.stop();
+        }
+    }
+
+    @Test
+    void acquitteLeLeadUneFoisSonLotCommite() {
+        when(leadService.createLeads(anyList())).thenReturn(List.of(lead(42L)));
+        intake = batchIntake(Duration.ofSeconds(5));
+
+        LeadIntakeService.Receipt receipt = intake.submit(request());
+
+        assertThat(receipt.isPending()).isFalse();
+        assertThat(receipt.leadId()).isEqualTo(42L);
+    }
+
+    @Test
+    void renvoieUnAccuseEnAttenteQuandLeDelaiExpireApresLaRemise() throws Exception {
+        when(leadService.createLeads(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(lead(7L));
+        });
+        intake = batchIntake(Duration.ofMillis(50));
+
+        LeadIntakeService.Receipt receipt = intake.submit(request());
+
+        assertThat(receipt.isPending()).isTrue();
+        release.countDown();
+        assertThat(receipt.completion().get(5, TimeUnit.SECONDS)).isEqualTo(7L);
+    }
+
+    @Test
+    void faitEchouerLesSoumissionsEnCoursALArret() throws Exception {
+        when(leadService.createLeads(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(lead(1L));
+        });
+        intake = batchIntake(Duration.ofMillis(50));
+
+        LeadIntakeService.Receipt receipt = intake.submit(request());
+        intake.stop();
+
+        assertThat(receipt.completion()).isCompletedExceptionally();
+        assertThatThrownBy(() -> intake.submit(request()))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    private LeadIntakeService batchIntake(Duration ackTimeout) {
+        LeadIntakeService service = new LeadIntakeService(leadService, "batch", 10, Duration.ofMillis(5), 100, ackTimeout);
+        service.start();
+        return service;
+    }
+
+    private static ContactFormRequest request() {
+        ContactFormRequest request = new ContactFormRequest();
+        request.setFullName("Jean Dupont");
+        request.setEmail("jean.dupont@example.com");
+        request.setRequestType(Lead.RequestType.values()[0]);
+        request.setMessage("Bonjour, je souhaite un devis.");
+        return request;
+    }
+
+    private static LeadDto lead(Long id) {
+        return LeadDto.builder().id(id).build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.dto.response.LeadDto;
+import com.example.contact.event.LeadCreatedEvent;
+import com.example.contact.model.Lead;
+import com.example.contact.model.LeadRollup;
+import com.example.contact.repository.LeadRepository;
+import com.example.contact.repository.LeadRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+// Même configuration que les tests MockMvc : contexte (et base H2) partagé
+@AutoConfigureMockMvc
+class LeadRollupServiceTest {
+
+    @Autowired
+    private LeadRollupService rollupService;
+
+    @Autowired
+    private LeadRollupRepository rollupRepository;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private LeadCommitGate commitGate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void lesDeltasEnAttenteNeSontPasComptesCommeUnEcart() {
+        leadService.createLead(contactForm());
+
+        // Delta pas encore flushé : pris en compte, aucune correction
+        rollupService.reconcile();
+
+        assertThat(rollupService.getLastDrift()).isZero();
+    }
+
+    @Test
+    void laReconciliationRetablitLesDeltasPerdus() {
+        LeadDto lead = leadService.createLead(contactForm());
+        rollupService.flush();
+        long corrections = rollupService.getDriftCorrections();
+
+        // Arrêt brutal simulé : trois deltas jamais flushés
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> dayRollup(lead).setCount(dayRollup(lead).getCount() - 3));
+        long expected = count(transaction, lead) + 3;
+
+        rollupService.reconcile();
+
+        assertThat(rollupService.getLastDrift()).isEqualTo(3);
+        assertThat(rollupService.getDriftCorrections()).isEqualTo(corrections + 1);
+        assertThat(count(transaction, lead)).isEqualTo(expected);
+    }
+
+    @Test
+    void deuxInstancesQuiFlushentLaMemeTrancheNePerdentAucunIncrement() throws Exception {
+        // Seconde instance sur la même base ; tranche propre au test (date fixe)
+        LeadRollupService other = new LeadRollupService(rollupRepository, leadRepository, transactionManager,
+                commitGate, dataSource);
+        LocalDateTime createdAt = LocalDateTime.of(2001, 1, 1, 0, 0).plusHours(System.nanoTime() % 10_000);
+        Lead lead = Lead.builder().createdAt(createdAt).requestType(Lead.RequestType.PARTNERSHIP).build();
+        int increments = 200;
+
+        CompletableFuture<?>[] writers = new CompletableFuture<?>[2];
+        LeadRollupService[] instances = {rollupService, other};
+        for (int w = 0; w < 2; w++) {
+            LeadRollupService instance = instances[w];
+            writers[w] = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < increments; i++) {
+                    instance.onLeadCreated(new LeadCreatedEvent(lead));
+                    instance.flush();
+                }
+            });
+        }
+        CompletableFuture.allOf(writers).get(60, TimeUnit.SECONDS);
+        // Insertion perdue sur la contrainte d'unicité : deltas remis en attente
+        rollupService.flush();
+        other.flush();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long count = transaction.execute(status -> rollupRepository
+                .findByGranularityAndBucketStartAndRequestTypeAndStatus(LeadRollup.Granularity.HOUR,
+                        createdAt.truncatedTo(ChronoUnit.HOURS), Lead.RequestType.PARTNERSHIP, Lead.LeadStatus.NEW)
+                .orElseThrow().getCount());
+        // Tranche sans lead correspondant : retirée pour ne pas fausser les réconciliations
+        new JdbcTemplate(dataSource).update("DELETE FROM lead_rollups WHERE bucket_start < ?",
+                Timestamp.valueOf(LocalDateTime.of(2002, 1, 1, 0, 0)));
+        assertThat(count).isEqualTo(2L * increments);
+    }
+
+    private long count(TransactionTemplate transaction, LeadDto lead) {
+        Long count = transaction.execute(status -> dayRollup(lead).getCount());
+        return count;
+    }
+
+    private LeadRollup dayRollup(LeadDto lead) {
+        return rollupRepository.findByGranularityAndBucketStartAndRequestTypeAndStatus(
+                LeadRollup.Granularity.DAY, lead.getCreatedAt().truncatedTo(ChronoUnit.DAYS),
+                Lead.RequestType.SUPPORT, Lead.LeadStatus.NEW).orElseThrow();
+    }
+
+    private static ContactFormRequest contactForm() {
+        ContactFormRequest request = new ContactFormRequest();
+        request.setFullName("Paul Girard");
+        request.setEmail("paul.girard@example.com");
+        request.setRequestType(Lead.RequestType.SUPPORT);
+        request.setMessage("Bonjour, j'ai une question sur ma commande.");
+        return request;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.contact.service;
+
+import com.example.contact.model.Lead;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeadSearchIndexTest {
+
+    private final LeadSearchIndex index = new LeadSearchIndex();
+
+    @Test
+    void decoupeCommeLaColonnePostgreSQL() {
+        // to_tsvector('simple', regexp_replace(lower(...), '[^[:alnum:]]+', ' ', 'g')) donne ces lexèmes
+        assertThat(LeadSearchIndex.tokenize("Jean-Émile O'Brien <jean.emile+devis@acme-qc.ca>"))
+                .containsExactly("jean", "émile", "o", "brien", "jean", "emile", "devis", "acme", "qc", "ca");
+        assertThat(LeadSearchIndex.tokenize("Migration v2.0 : 3 serveurs, 1er trimestre"))
+                .containsExactly("migration", "v2", "0", "3", "serveurs", "1er", "trimestre");
+        // Forme décomposée (e + accent combinant) recomposée comme la forme NFC
+        assertThat(LeadSearchIndex.tokenize("Que\u0301bec")).containsExactly("québec");
+        assertThat(LeadSearchIndex.tokenize(null)).isEmpty();
+        assertThat(LeadSearchIndex.tokenize(" -- ")).isEmpty();
+    }
+
+    @Test
+    void chercheParPrefixeAPartirDeDeuxCaracteres() {
+        index(1L, "Marie Tremblay", "Boulangerie Martin", Lead.LeadStatus.NEW, Lead.RequestType.INFO);
+        index(2L, "B Gagnon", "Studio Lune", Lead.LeadStatus.NEW, Lead.RequestType.INFO);
+
+        assertThat(ids(List.of("boul"))).containsExactly(1L);
+        assertThat(ids(List.of("mar"))).containsExactly(1L);
+        // Un seul caractère : terme exact, sans extension
+        assertThat(ids(List.of("b"))).containsExactly(2L);
+        // Tous les termes de la requête doivent être présents
+        assertThat(ids(List.of("mar", "lune"))).isEmpty();
+        assertThat(ids(List.of("mar", "trem"))).containsExactly(1L);
+    }
+
+    @Test
+    void classeLeNomAvantLEmailEtLeMessage() {
+        index.index(1L, "Client Un", "Acme", "un@example.com", "Question sur le nuage", Lead.LeadStatus.NEW, Lead.RequestType.INFO);
+        index.index(2L, "Client Deux", "Nuage Conseil", "deux@example.com", "Devis", Lead.LeadStatus.NEW, Lead.RequestType.INFO);
+        index.index(3L, "Client Trois", "Acme", "nuage@example.com", "Devis", Lead.LeadStatus.NEW, Lead.RequestType.INFO);
+        // Ex æquo : id décroissant, comme ORDER BY score DESC, id DESC
+        index.index(4L, "Client Quatre", "Acme", "quatre@example.com", "Question sur le nuage", Lead.LeadStatus.NEW, Lead.RequestType.INFO);
+
+        List<LeadSearchIndex.Hit> hits = index.search(List.of("nuage"), null, null, 10);
+
+        assertThat(hits).extracting(LeadSearchIndex.Hit::id).containsExactly(2L, 3L, 4L, 1L);
+        assertThat(hits.get(2).score()).isEqualTo(hits.get(3).score());
+        assertThat(index.search(List.of("nuage"), null, null, 2))
+                .extracting(LeadSearchIndex.Hit::id).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void combineLesFiltresDeStatutEtDeType() {
+        index(1L, "Alice Roy", "Acme", Lead.LeadStatus.NEW, Lead.RequestType.QUOTE);
+        index(2L, "Bruno Roy", "Acme", Lead.LeadStatus.CONTACTED, Lead.RequestType.QUOTE);
+        index(3L, "Chloé Roy", "Acme", Lead.LeadStatus.NEW, Lead.RequestType.INFO);
+
+        assertThat(ids(List.of("acme"), Lead.LeadStatus.NEW, null)).containsExactly(3L, 1L);
+        assertThat(ids(List.of("acme"), null, Lead.RequestType.QUOTE)).containsExactly(2L, 1L);
+        assertThat(ids(List.of("acme"), Lead.LeadStatus.NEW, Lead.RequestType.QUOTE)).containsExactly(1L);
+        assertThat(ids(List.of("acme"), Lead.LeadStatus.CONTACTED, Lead.RequestType.INFO)).isEmpty();
+    }
+
+    @Test
+    void suitLesModificationsEtLesSuppressions() {
+        index(1L, "Alice Roy", "Acme", Lead.LeadStatus.NEW, Lead.RequestType.INFO);
+        index(2L, "Bruno Roy", "Acme", Lead.LeadStatus.NEW, Lead.RequestType.INFO);
+
+        // Réindexation : les anciens termes disparaissent
+        index(1L, "Alice Roy", "Globex", Lead.LeadStatus.NEW, Lead.RequestType.INFO);
+        assertThat(ids(List.of("acme"))).containsExactly(2L);
+        assertThat(ids(List.of("glob"))).containsExactly(1L);
+
+        index.updateStatus(2L, Lead.LeadStatus.CONTACTED);
+        assertThat(ids(List.of("roy"), Lead.LeadStatus.NEW, null)).containsExactly(1L);
+        assertThat(ids(List.of("roy"), Lead.LeadStatus.CONTACTED, null)).containsExactly(2L);
+
+        index.remove(2L);
+        assertThat(ids(List.of("roy"))).containsExactly(1L);
+        assertThat(ids(List.of("acme"))).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+
+        // Sans effet sur un lead absent
+        index.updateStatus(2L, Lead.LeadStatus.NEW);
+        index.remove(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private void index(Long id, String fullName, String company, Lead.LeadStatus status, Lead.RequestType type) {
+        index.index(id, fullName, company, "contact" + id + "@example.com", "Demande d'information", status, type);
+    }
+
+    private List<Long> ids(List<String> terms) {
+        return ids(terms, null, null);
+    }
+
+    private List<Long> ids(List<String> terms, Lead.LeadStatus status, Lead.RequestType type) {
+        return index.search(terms, status, type, 10).stream().map(LeadSearchIndex.Hit::id).toList();
+    }
+}
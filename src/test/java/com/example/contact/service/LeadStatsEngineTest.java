@@ -0,0 +1,77 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.model.Lead;
+import com.example.contact.repository.LeadRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+// Même configuration que les tests MockMvc : contexte (et base H2) partagé
+@AutoConfigureMockMvc
+class LeadStatsEngineTest {
+
+    @Autowired
+    private LeadStatsEngine statsEngine;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Test
+    void laReconciliationSousChargeCorrigeLEcartExactement() throws Exception {
+        // Suppression hors LeadService (sans événement) : écart réel d'une unité
+        Long removed = leadService.createLead(contactForm()).getId();
+        leadRepository.deleteById(removed);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger created = new AtomicInteger();
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            while (running.get()) {
+                leadService.createLead(contactForm());
+                created.incrementAndGet();
+            }
+        });
+
+        try {
+            // Passages pendant des commits concurrents : l'écart est corrigé dès le premier
+            // (pas de report), puis aucun écart (pas de double compte)
+            statsEngine.reconcile();
+            assertThat(statsEngine.getLastDrift()).isEqualTo(1);
+            for (int i = 0; i < 20; i++) {
+                statsEngine.reconcile();
+                assertThat(statsEngine.getLastDrift()).as("écart au passage %d", i).isZero();
+            }
+        } finally {
+            running.set(false);
+            writer.get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(created.get()).isPositive();
+        statsEngine.reconcile();
+        assertThat(statsEngine.getLastDrift()).isZero();
+        assertThat(statsEngine.snapshot().getTotalLeads()).isEqualTo(leadRepository.count());
+    }
+
+    private static ContactFormRequest contactForm() {
+        ContactFormRequest request = new ContactFormRequest();
+        request.setFullName("Lucie Bernard");
+        request.setEmail("lucie.bernard@example.com");
+        request.setRequestType(Lead.RequestType.QUOTE);
+        request.setMessage("Bonjour, je souhaite un devis pour dix postes.");
+        return request;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.dto.response.LeadDto;
+import com.example.contact.dto.response.LeadSuggestionDto;
+import com.example.contact.model.Lead;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+// Même configuration que les tests MockMvc : contexte (et base H2) partagé
+@AutoConfigureMockMvc
+class LeadSuggestionServiceTest {
+
+    @Autowired
+    private LeadSuggestionService suggestionService;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Test
+    void laReconstructionRecalculeLaDateApresSuppression() throws Exception {
+        String company = "Atelier Rebuild " + System.nanoTime();
+        LeadDto older = leadService.createLead(contactForm(company));
+        Thread.sleep(5);
+        LeadDto newer = leadService.createLead(contactForm(company));
+
+        // Suppression : compteur décrémenté, date du plus récent inchangée
+        leadService.deleteLead(newer.getId());
+        LeadSuggestionDto stale = suggestion(company);
+        assertThat(stale.getLeadCount()).isEqualTo(1);
+        assertThat(stale.getLastLeadAt()).isEqualTo(millis(newer));
+
+        suggestionService.rebuild();
+
+        LeadSuggestionDto rebuilt = suggestion(company);
+        assertThat(rebuilt.getLeadCount()).isEqualTo(1);
+        assertThat(rebuilt.getLastLeadAt()).isEqualTo(millis(older));
+    }
+
+    @Test
+    void laReconstructionSousChargeNePerdAucuneCreation() throws Exception {
+        String company = "Atelier Journal " + System.nanoTime();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger created = new AtomicInteger();
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            while (running.get()) {
+                leadService.createLead(contactForm(company));
+                created.incrementAndGet();
+            }
+        });
+
+        try {
+            // Commits pendant le parcours : rejoués depuis le journal, ni perdus ni doublés
+            for (int i = 0; i < 5; i++) {
+                suggestionService.rebuild();
+            }
+        } finally {
+            running.set(false);
+            writer.get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(created.get()).isPositive();
+        assertThat(suggestion(company).getLeadCount()).isEqualTo(created.get());
+    }
+
+    private LeadSuggestionDto suggestion(String company) {
+        List<LeadSuggestionDto> suggestions =
+                suggestionService.suggest(company, LeadSuggestionService.Field.COMPANY, 1);
+        assertThat(suggestions).hasSize(1);
+        return suggestions.get(0);
+    }
+
+    // Dates des suggestions à la milliseconde
+    private static LocalDateTime millis(LeadDto lead) {
+        return lead.getCreatedAt().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private static ContactFormRequest contactForm(String company) {
+        ContactFormRequest request = new ContactFormRequest();
+        request.setFullName("Lucie Bernard");
+        request.setCompany(company);
+        request.setEmail("lucie.bernard@example.com");
+        request.setRequestType(Lead.RequestType.QUOTE);
+        request.setMessage("Bonjour, je souhaite un devis pour dix postes.");
+        return request;
+    }
+}
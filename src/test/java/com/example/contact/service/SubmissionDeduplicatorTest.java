@@ -0,0 +1,66 @@
+package com.example.contact.service;
+
+import com.example.contact.dto.request.ContactFormRequest;
+import com.example.contact.exception.ServiceUnavailableException;
+import com.example.contact.model.Lead;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubmissionDeduplicatorTest {
+
+    private final SubmissionDeduplicator deduplicator = new SubmissionDeduplicator(true, Duration.ofMinutes(10),
+            Duration.ofHours(24), 1000, Duration.ofMillis(50));
+    private final AtomicInteger submissions = new AtomicInteger();
+
+    @Test
+    void unDoublonDOriginaleEnCoursRecoit503PuisSonResultat() {
+        CompletableFuture<Long> completion = new CompletableFuture<>();
+        assertThat(deduplicator.submit("cle-1", request(), () -> pending(completion)).isPending()).isTrue();
+
+        // L'originale peut encore échouer : aucun accusé de succès pour le doublon
+        assertThatThrownBy(() -> deduplicator.submit("cle-1", request(), () -> pending(completion)))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .extracting(e -> ((ServiceUnavailableException) e).getRetryAfterSeconds())
+                .isEqualTo(1L);
+        assertThatThrownBy(() -> deduplicator.submit(null, request(), () -> pending(completion)))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        completion.complete(42L);
+        SubmissionDeduplicator.Result replayed = deduplicator.submit("cle-1", request(), () -> pending(completion));
+        assertThat(replayed.leadId()).isEqualTo(42L);
+        assertThat(replayed.replayed()).isTrue();
+        assertThat(submissions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void uneOriginaleEchoueeLibereSesCles() {
+        CompletableFuture<Long> failed = new CompletableFuture<>();
+        deduplicator.submit("cle-2", request(), () -> pending(failed));
+        failed.completeExceptionally(new ServiceUnavailableException("Enregistrement interrompu, veuillez réessayer."));
+
+        SubmissionDeduplicator.Result retried = deduplicator.submit("cle-2", request(),
+                () -> pending(CompletableFuture.completedFuture(7L)));
+        assertThat(retried.replayed()).isFalse();
+        assertThat(submissions.get()).isEqualTo(2);
+    }
+
+    private LeadIntakeService.Receipt pending(CompletableFuture<Long> completion) {
+        submissions.incrementAndGet();
+        return new LeadIntakeService.Receipt(completion.getNow(null), completion);
+    }
+
+    private static ContactFormRequest request() {
+        ContactFormRequest request = new ContactFormRequest();
+        request.setFullName("Jean Dupont");
+        request.setEmail("jean.dupont@example.com");
+        request.setRequestType(Lead.RequestType.QUOTE);
+        request.setMessage("Bonjour, je souhaite un devis.");
+        return request;
+    }
+}